@@ -1,14 +1,31 @@
 import service.*;
 import dto.Book;
+import dto.FacetedSearchResult;
 import dto.Transaction;
+import search.Completion;
+import utils.DataExporter;
+import utils.DatabaseConnection;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.InputMismatchException;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Scanner;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
 
 
 public class LibraryManagementSystem {
 
+    private static final int PAGE_SIZE = 20;
+    private static final int SUGGESTION_LIMIT = 10;
+    private static final int RANKED_RESULT_LIMIT = 25;
+    private static final int IMPORT_CHUNK_SIZE = 1000;
+    private static final int DUE_SOON_DAYS = 3;
+
     private static LoginService loginService;
     private static UserService userService;
     private static BookService bookService;
@@ -26,6 +43,7 @@ public class LibraryManagementSystem {
         runApplication();
 
         scanner.close();
+        DatabaseConnection.getInstance().shutdown();
         System.out.println("Thank you for using Library Management System!");
     }
 
@@ -133,18 +151,24 @@ public class LibraryManagementSystem {
         System.out.println("  5. Remove Book");
         System.out.println("  6. Update Book Quantity");
         System.out.println("  7. List All Books");
+        System.out.println("  8. Import Books from CSV");
         System.out.println();
         System.out.println("Transaction Management:");
-        System.out.println("  8. View Pending Requests");
-        System.out.println("  9. Approve/Deny Requests");
-        System.out.println(" 10. View All Transactions");
-        System.out.println(" 11. View Issued Books");
-        System.out.println(" 12. Return Books (With Fine Collection)");
+        System.out.println("  9. View Pending Requests");
+        System.out.println(" 10. Approve/Deny Requests");
+        System.out.println(" 11. View All Transactions");
+        System.out.println(" 12. View Issued Books");
+        System.out.println(" 13. Return Books (With Fine Collection)");
+        System.out.println(" 14. Overdue & Due Soon Report");
+        System.out.println(" 15. Outstanding Fines Report");
         System.out.println();
         System.out.println("System:");
-        System.out.println(" 13. Change Password");
-        System.out.println(" 14. Logout");
-        System.out.println(" 15. Exit");
+        System.out.println(" 16. Catalog Statistics");
+        System.out.println(" 17. Performance Statistics");
+        System.out.println(" 18. Export Books/Transactions");
+        System.out.println(" 19. Change Password");
+        System.out.println(" 20. Logout");
+        System.out.println(" 21. Exit");
         System.out.println("=".repeat(60));
         System.out.print("Enter your choice: ");
 
@@ -155,19 +179,25 @@ public class LibraryManagementSystem {
             switch (choice) {
                 case 1: handleAddUser(); break;
                 case 2: handleRemoveUser(); break;
-                case 3: userService.displayAllUsers(); break;
+                case 3: handleListAllUsers(); break;
                 case 4: handleAddBook(); break;
                 case 5: handleRemoveBook(); break;
                 case 6: handleUpdateBookQuantity(); break;
-                case 7: bookService.displayAllBooks(); break;
-                case 8: transactionService.displayPendingTransactions(); break;
-                case 9: handleApproveOrDenyRequest(); break;
-                case 10: transactionService.displayAllTransactions(); break;
-                case 11: transactionService.displayApprovedTransactions(); break;
-                case 12: handleAdminReturnBook(); break;
-                case 13: handleChangePassword(); break;
-                case 14: loginService.logout(); break;
-                case 15: return false;
+                case 7: handleListAllBooks(); break;
+                case 8: handleImportBooks(); break;
+                case 9: transactionService.displayPendingTransactions(); break;
+                case 10: handleApproveOrDenyRequest(); break;
+                case 11: handleViewAllTransactions(); break;
+                case 12: transactionService.displayApprovedTransactions(); break;
+                case 13: handleAdminReturnBook(); break;
+                case 14: handleOverdueReport(); break;
+                case 15: transactionService.displayFineReport(); break;
+                case 16: bookService.displayCatalogStatistics(); break;
+                case 17: handleShowPerformanceStatistics(); break;
+                case 18: handleExportData(); break;
+                case 19: handleChangePassword(); break;
+                case 20: loginService.logout(); break;
+                case 21: return false;
                 default: System.out.println("Invalid choice. Please try again.");
             }
         }catch (InputMismatchException e) {
@@ -323,6 +353,77 @@ public class LibraryManagementSystem {
     }
 
 
+    private static void handleListAllUsers() {
+        showPaged(userService::getUsersPage, userService::displayUsersList, "ALL USERS");
+    }
+
+
+    private static void handleListAllBooks() {
+        showPaged(bookService::getBooksPage, bookService::displayBooksList, "ALL BOOKS");
+    }
+
+
+    private static void handleViewAllTransactions() {
+        showPaged(transactionService::getTransactionsPage, transactionService::displayTransactionsList, "ALL TRANSACTIONS");
+    }
+
+
+    private static <T> void showPaged(BiFunction<T, Integer, List<T>> pageLoader,
+                                      BiConsumer<List<T>, String> pagePrinter, String title) {
+        T lastSeen = null;
+        int pageNumber = 1;
+
+        while (true) {
+            List<T> page = pageLoader.apply(lastSeen, PAGE_SIZE);
+            if (page == null) {
+                return;
+            }
+
+            if (page.isEmpty()) {
+                System.out.println(pageNumber == 1 ? "No records found." : "No more records.");
+                return;
+            }
+
+            pagePrinter.accept(page, title + " - PAGE " + pageNumber);
+
+            if (page.size() < PAGE_SIZE) {
+                return;
+            }
+
+            System.out.print("Press Enter for the next page or 'q' to stop: ");
+            String next = scanner.nextLine().trim().toLowerCase();
+            if (next.equals("q") || next.equals("quit")) {
+                return;
+            }
+
+            lastSeen = page.get(page.size() - 1);
+            pageNumber++;
+        }
+    }
+
+
+    private static void handleImportBooks() {
+        System.out.println("\n" + "-".repeat(30));
+        System.out.println("IMPORT BOOKS FROM CSV");
+        System.out.println("-".repeat(30));
+        System.out.println("Columns: title, author, category, quantity, floor, shelve");
+        System.out.print("Enter CSV file path: ");
+        String filePath = scanner.nextLine().trim();
+
+        System.out.print("Batch size (or press Enter for " + IMPORT_CHUNK_SIZE + "): ");
+        String chunkInput = scanner.nextLine().trim();
+        int chunkSize;
+        try {
+            chunkSize = chunkInput.isEmpty() ? IMPORT_CHUNK_SIZE : Integer.parseInt(chunkInput);
+        } catch (NumberFormatException e) {
+            System.out.println("Invalid batch size.");
+            return;
+        }
+
+        bookService.displayImportReport(bookService.importBooksFromCsv(filePath, chunkSize));
+    }
+
+
     private static void handleAddBook() {
         boolean success;
         do {
@@ -457,8 +558,40 @@ public class LibraryManagementSystem {
         System.out.println("\n" + "-".repeat(30));
         System.out.println("APPROVE/DENY REQUEST");
         System.out.println("-".repeat(30));
+        System.out.println("1. Single Request");
+        System.out.println("2. Batch Approve by Transaction IDs");
+        System.out.println("3. Batch Approve All Pending for Book IDs");
+        System.out.println("4. Batch Deny by Transaction IDs");
+        System.out.print("Enter your choice: ");
 
         try {
+            int mode = scanner.nextInt();
+            scanner.nextLine();
+
+            if (mode >= 2 && mode <= 4) {
+                System.out.print(mode == 3 ? "Enter Book IDs (comma separated): " : "Enter Transaction IDs (comma separated): ");
+                List<Integer> ids = parseIdList(scanner.nextLine());
+                if (ids == null || ids.isEmpty()) {
+                    System.out.println("Please enter at least one valid ID.");
+                    return;
+                }
+
+                Map<Integer, String> outcomes;
+                if (mode == 2) {
+                    outcomes = transactionService.batchApproveRequests(ids);
+                } else if (mode == 3) {
+                    outcomes = transactionService.batchApproveRequestsForBooks(ids);
+                } else {
+                    outcomes = transactionService.batchDenyRequests(ids);
+                }
+                transactionService.displayBatchOutcomes(outcomes);
+                return;
+            }
+            if (mode != 1) {
+                System.out.println("Invalid choice.");
+                return;
+            }
+
             System.out.print("Enter Transaction ID: ");
             int transactionId = scanner.nextInt();
             scanner.nextLine();
@@ -486,6 +619,23 @@ public class LibraryManagementSystem {
     }
 
 
+    private static List<Integer> parseIdList(String input) {
+        Set<Integer> ids = new LinkedHashSet<>();
+        for (String token : input.split("[,\\s]+")) {
+            if (token.isEmpty()) {
+                continue;
+            }
+            try {
+                ids.add(Integer.parseInt(token));
+            } catch (NumberFormatException e) {
+                System.out.println("Invalid ID: " + token);
+                return null;
+            }
+        }
+        return new ArrayList<>(ids);
+    }
+
+
     private static void handleAdminReturnBook() {
 
         List<Transaction> issuedBooks = transactionService.getApprovedTransactions();
@@ -518,7 +668,8 @@ public class LibraryManagementSystem {
                 return;
             }
 
-            double fine = transaction.calculateFine();
+            LocalDate today = transactionService.today();
+            double fine = transaction.calculateFine(today);
 
             if (fine > 0) {
                 System.out.println("\n" + "=".repeat(40));
@@ -528,7 +679,7 @@ public class LibraryManagementSystem {
                 System.out.println("Book: " + transaction.getBookTitle());
                 System.out.println("Issue Date: " + transaction.getIssueDate());
                 System.out.println("Due Date: " + transaction.getDueDate());
-                System.out.println("Days Overdue: " + transaction.getOverdueDays());
+                System.out.println("Days Overdue: " + transaction.getOverdueDays(today));
                 System.out.println("Fine Amount: ₹" + String.format("%.2f", fine));
                 System.out.println("=".repeat(40));
 
@@ -564,6 +715,25 @@ public class LibraryManagementSystem {
     }
 
 
+    private static void handleOverdueReport() {
+        System.out.print("Show loans due within how many days? (or press Enter for " + DUE_SOON_DAYS + "): ");
+        String input = scanner.nextLine().trim();
+        int days;
+        try {
+            days = input.isEmpty() ? DUE_SOON_DAYS : Integer.parseInt(input);
+        } catch (NumberFormatException e) {
+            System.out.println("Invalid number of days.");
+            return;
+        }
+        if (days < 0) {
+            System.out.println("Number of days cannot be negative.");
+            return;
+        }
+
+        transactionService.displayOverdueReport(days);
+    }
+
+
     private static void handleSearchBooks() {
         System.out.println("\n" + "-".repeat(30));
         System.out.println("SEARCH BOOKS");
@@ -572,12 +742,29 @@ public class LibraryManagementSystem {
         System.out.println("2. Search by Author");
         System.out.println("3. Search by Category");
         System.out.println("4. General Search");
+        System.out.println("5. Fuzzy Search (tolerates typos)");
+        System.out.println("6. Suggest Titles/Authors (type-ahead)");
+        System.out.println("7. Search and Narrow by Category");
+        System.out.println("8. Filter by Category/Floor/Availability");
         System.out.print("Enter your choice: ");
 
         try {
             int choice = scanner.nextInt();
             scanner.nextLine();
 
+            if (choice == 6) {
+                handleSuggestBooks();
+                return;
+            }
+            if (choice == 7) {
+                handleFacetedSearch();
+                return;
+            }
+            if (choice == 8) {
+                handleFilterBooks();
+                return;
+            }
+
             System.out.print("Enter search term: ");
             String searchTerm = scanner.nextLine().trim();
 
@@ -594,7 +781,10 @@ public class LibraryManagementSystem {
                     results = bookService.searchBooksByCategory(searchTerm);
                     break;
                 case 4:
-                    results = bookService.searchBooks(searchTerm);
+                    handleRankedSearch(searchTerm);
+                    return;
+                case 5:
+                    results = bookService.fuzzySearchBooks(searchTerm);
                     break;
                 default:
                     System.out.println("Invalid choice.");
@@ -610,6 +800,130 @@ public class LibraryManagementSystem {
         }
     }
 
+    private static void handleRankedSearch(String searchTerm) {
+        List<Book> results = bookService.searchBooksRanked(searchTerm, RANKED_RESULT_LIMIT);
+        if (results == null) {
+            return;
+        }
+
+        int matches = bookService.countRankedMatches(searchTerm);
+        if (matches <= results.size()) {
+            bookService.displaySearchResults(results, searchTerm);
+            return;
+        }
+
+        bookService.displayBooksList(results, "TOP " + results.size() + " OF " + matches
+                + " RESULTS FOR: \"" + searchTerm + "\"");
+        System.out.print("Show all " + matches + " matches? (y/N): ");
+        String showAll = scanner.nextLine().trim().toLowerCase();
+        if (showAll.equals("y") || showAll.equals("yes")) {
+            bookService.displaySearchResults(bookService.searchBooksRanked(searchTerm, matches), searchTerm);
+        }
+    }
+
+
+    private static void handleFacetedSearch() {
+        System.out.print("Enter search term: ");
+        String searchTerm = scanner.nextLine().trim();
+
+        FacetedSearchResult result = bookService.facetedSearchBooks(searchTerm, null);
+        if (result == null) {
+            return;
+        }
+
+        bookService.displaySearchResults(result.getBooks(), searchTerm);
+        if (result.getBooks().isEmpty()) {
+            return;
+        }
+        bookService.displaySearchFacets(result.getFacets());
+
+        System.out.print("Narrow to category (or press Enter to finish): ");
+        String category = scanner.nextLine().trim();
+        if (category.isEmpty()) {
+            return;
+        }
+
+        FacetedSearchResult narrowed = bookService.facetedSearchBooks(searchTerm, category);
+        if (narrowed != null) {
+            bookService.displayBooksList(narrowed.getBooks(),
+                    "SEARCH RESULTS FOR: \"" + searchTerm + "\" IN CATEGORY: " + category);
+        }
+    }
+
+    private static void handleFilterBooks() {
+        System.out.print("Categories, comma separated (or press Enter for any): ");
+        List<String> categories = new ArrayList<>();
+        for (String category : scanner.nextLine().split(",")) {
+            if (!category.trim().isEmpty()) {
+                categories.add(category.trim());
+            }
+        }
+
+        System.out.print("Floors, comma separated (or press Enter for any): ");
+        List<Integer> floors = new ArrayList<>();
+        for (String floor : scanner.nextLine().split(",")) {
+            if (floor.trim().isEmpty()) {
+                continue;
+            }
+            try {
+                floors.add(Integer.parseInt(floor.trim()));
+            } catch (NumberFormatException e) {
+                System.out.println("Invalid floor number: " + floor.trim());
+                return;
+            }
+        }
+
+        System.out.print("Available books only? (y/N): ");
+        String availableOnly = scanner.nextLine().trim().toLowerCase();
+
+        List<Book> results = bookService.filterBooks(categories, floors,
+                availableOnly.equals("y") || availableOnly.equals("yes"));
+        if (results != null) {
+            bookService.displayBooksList(results, "FILTERED BOOKS");
+        }
+    }
+
+    private static void handleSuggestBooks() {
+        System.out.print("Start typing a title or author: ");
+        String prefix = scanner.nextLine().trim();
+
+        List<Completion> suggestions = bookService.autocomplete(prefix, SUGGESTION_LIMIT);
+        if (suggestions == null) {
+            return;
+        }
+
+        if (suggestions.isEmpty()) {
+            System.out.println("No suggestions found.");
+            return;
+        }
+
+        System.out.println("\n" + "-".repeat(60));
+        System.out.println("SUGGESTIONS FOR: \"" + prefix + "\"");
+        System.out.println("-".repeat(60));
+        for (int i = 0; i < suggestions.size(); i++) {
+            Completion suggestion = suggestions.get(i);
+            System.out.printf("%2d. %-40s | %-6s | %d available%n",
+                    i + 1, suggestion.getText(), suggestion.isTitle() ? "Title" : "Author", suggestion.getScore());
+        }
+        System.out.println("-".repeat(60));
+
+        System.out.print("Pick a suggestion to search (or 0 to go back): ");
+        int pick = scanner.nextInt();
+        scanner.nextLine();
+
+        if (pick <= 0 || pick > suggestions.size()) {
+            return;
+        }
+
+        Completion selected = suggestions.get(pick - 1);
+        List<Book> results = selected.isTitle()
+                ? bookService.searchBooksByTitle(selected.getText())
+                : bookService.searchBooksByAuthor(selected.getText());
+        if (results != null) {
+            bookService.displaySearchResults(results, selected.getText());
+        }
+    }
+
     private static void handleRequestBookIssue() {
         boolean success;
         do {
@@ -659,6 +973,63 @@ public class LibraryManagementSystem {
     }
 
 
+    private static void handleShowPerformanceStatistics() {
+        DatabaseConnection dbConnection = DatabaseConnection.getInstance();
+
+        System.out.println("\n" + "=".repeat(80));
+        System.out.println("PERFORMANCE STATISTICS");
+        System.out.println("=".repeat(80));
+        System.out.println("Statement cache: hits=" + dbConnection.getStatementCacheHits()
+                + ", misses=" + dbConnection.getStatementCacheMisses());
+        System.out.println("Book cache:      " + bookService.getBookCacheStats());
+        System.out.println("Search cache:    " + bookService.getSearchCacheStats()
+                + ", retained=" + (bookService.getSearchCacheRetainedBytes() / 1024) + " KB");
+        System.out.println("Name cache:      users=" + transactionService.getCachedUserNameCount()
+                + ", books=" + transactionService.getCachedBookTitleCount()
+                + ", pooled strings=" + transactionService.getPooledNameCount());
+        System.out.println("=".repeat(80));
+    }
+
+
+    private static void handleExportData() {
+        System.out.println("\n" + "-".repeat(30));
+        System.out.println("EXPORT DATA");
+        System.out.println("-".repeat(30));
+        System.out.println("1. Books");
+        System.out.println("2. Transactions");
+        System.out.print("Enter your choice: ");
+        String dataset = scanner.nextLine().trim();
+        if (!dataset.equals("1") && !dataset.equals("2")) {
+            System.out.println("Invalid choice.");
+            return;
+        }
+
+        System.out.print("Format (csv/ndjson): ");
+        String format = scanner.nextLine().trim().toLowerCase();
+        if (!format.equals(DataExporter.FORMAT_CSV) && !format.equals(DataExporter.FORMAT_NDJSON)) {
+            System.out.println("Unsupported format.");
+            return;
+        }
+
+        System.out.print("Compress with gzip? (y/N): ");
+        String compress = scanner.nextLine().trim().toLowerCase();
+        boolean gzip = compress.equals("y") || compress.equals("yes");
+
+        System.out.print("Output file path: ");
+        String filePath = scanner.nextLine().trim();
+        if (filePath.isEmpty()) {
+            System.out.println("File path cannot be empty.");
+            return;
+        }
+
+        if (dataset.equals("1")) {
+            bookService.exportBooks(filePath, format, gzip);
+        } else {
+            transactionService.exportTransactions(filePath, format, gzip);
+        }
+    }
+
+
     private static void handleChangePassword() {
         boolean success;
         do {
@@ -1,12 +1,23 @@
 package dao;
 
 import dto.Book;
+import dto.CatalogStatistics;
+import dto.SearchFacets;
+import utils.CacheStats;
+import utils.LruCache;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
 
 public class BookDao extends DatabaseService {
+    private static final int BOOK_CACHE_SIZE = 1_000;
+    private static final long BOOK_CACHE_TTL_MS = 60_000;
+    private static final LruCache<Integer, Book> BOOK_CACHE = new LruCache<>(BOOK_CACHE_SIZE, BOOK_CACHE_TTL_MS);
     
     public BookDao() {
         super();
@@ -16,12 +27,13 @@ public class BookDao extends DatabaseService {
     public boolean createBook(Book book) {
         Connection connection = null;
         PreparedStatement statement = null;
+        ResultSet generatedKeys = null;
         
         String query = "INSERT INTO books (title, author, category, quantity, floor, shelve) VALUES (?, ?, ?, ?, ?, ?)";
         
         try {
             connection = getConnection();
-            statement = connection.prepareStatement(query);
+            statement = connection.prepareStatement(query, new String[] {"id"});
             
             statement.setString(1, book.getTitle());
             statement.setString(2, book.getAuthor());
@@ -32,27 +44,59 @@ public class BookDao extends DatabaseService {
             
             int rowsAffected = statement.executeUpdate();
 
+            generatedKeys = statement.getGeneratedKeys();
+            if (generatedKeys.next()) {
+                book.setId(generatedKeys.getInt(1));
+            }
+
             return rowsAffected > 0;
             
         } catch (SQLException e) {
             System.err.println("Error creating book: " + e.getMessage());
             return false;
         } finally {
-            closeResources(connection, statement);
+            closeResources(connection, statement, generatedKeys);
         }
     }
     
 
     public Book getBookById(int bookId) {
+        Book cached = BOOK_CACHE.get(bookId);
+        if (cached != null) {
+            return new Book(cached);
+        }
+        
         Connection connection = null;
+        long generation = BOOK_CACHE.getGeneration();
+        
+        try {
+            connection = getConnection();
+            Book book = getBookById(connection, bookId);
+            if (book != null) {
+                BOOK_CACHE.putIfGeneration(bookId, new Book(book), generation);
+            }
+            return book;
+            
+        } catch (SQLException e) {
+            System.err.println("Error getting book by ID: " + e.getMessage());
+        } catch (Exception e) {
+            System.err.println("Unexpected error:" + e.getMessage());
+        } finally {
+            closeResources(connection, null);
+        }
+        
+        return null;
+    }
+    
+
+    public Book getBookById(Connection connection, int bookId) throws SQLException {
         PreparedStatement statement = null;
         ResultSet resultSet = null;
         
         String query = "SELECT id, title, author, category, quantity, floor, shelve FROM books WHERE id = ?";
         
         try {
-            connection = getConnection();
-            statement = connection.prepareStatement(query);
+            statement = prepareStatement(connection, query);
             statement.setInt(1, bookId);
             
             resultSet = statement.executeQuery();
@@ -60,30 +104,129 @@ public class BookDao extends DatabaseService {
             if (resultSet.next()) {
                 return mapResultSetToBook(resultSet);
             }
+            return null;
+            
+        } finally {
+            closeResources(null, statement, resultSet);
+        }
+    }
+    
+
+    public List<Book> getAllBooks() {
+        Connection connection = null;
+        PreparedStatement statement = null;
+        ResultSet resultSet = null;
+        List<Book> books = new ArrayList<>();
+        
+        String query = "SELECT id, title, author, category, quantity, floor, shelve FROM books ORDER BY title";
+        
+        try {
+            connection = getConnection();
+            statement = prepareStatement(connection, query);
+            resultSet = statement.executeQuery();
+            
+            while (resultSet.next()) {
+                books.add(mapResultSetToBook(resultSet));
+            }
             
         } catch (SQLException e) {
-            System.err.println("Error getting book by ID: " + e.getMessage());
+            System.err.println("Error getting all books: " + e.getMessage());
         } catch (Exception e) {
             System.err.println("Unexpected error:" + e.getMessage());
         } finally {
             closeResources(connection, statement, resultSet);
         }
         
-        return null;
+        return books;
+    }
+
+    public int[] createBooks(Connection connection, List<Book> books) throws SQLException {
+        PreparedStatement statement = null;
+        
+        String query = "INSERT INTO books (title, author, category, quantity, floor, shelve) VALUES (?, ?, ?, ?, ?, ?)";
+        
+        try {
+            statement = connection.prepareStatement(query);
+            for (Book book : books) {
+                statement.setString(1, book.getTitle());
+                statement.setString(2, book.getAuthor());
+                statement.setString(3, book.getCategory());
+                statement.setInt(4, book.getQuantity());
+                statement.setInt(5, book.getFloor());
+                statement.setString(6, book.getShelve());
+                statement.addBatch();
+            }
+            return statement.executeBatch();
+        } finally {
+            closeResources(null, statement);
+        }
     }
     
 
-    public List<Book> getAllBooks() {
+    public ResultSetCursor<String> streamTitleAuthorKeys() throws SQLException {
+        String query = "SELECT title, author FROM books";
+        return openCursor(query, DEFAULT_FETCH_SIZE, resultSet ->
+                titleAuthorKey(resultSet.getString("title"), resultSet.getString("author")));
+    }
+    
+
+    public static String titleAuthorKey(String title, String author) {
+        String normalizedTitle = title != null ? title.trim().toUpperCase(Locale.ROOT) : "";
+        String normalizedAuthor = author != null ? author.trim().toUpperCase(Locale.ROOT) : "";
+        return normalizedTitle + '\u0000' + normalizedAuthor;
+    }
+    
+
+    public ResultSetCursor<Book> streamAllBooks() throws SQLException {
+        return streamAllBooks(DEFAULT_FETCH_SIZE);
+    }
+    
+
+    public ResultSetCursor<Book> streamAllBooks(int fetchSize) throws SQLException {
+        String query = "SELECT id, title, author, category, quantity, floor, shelve FROM books ORDER BY id";
+        return openCursor(query, fetchSize, this::mapResultSetToBook);
+    }
+    
+
+    public ResultSetCursor<Book> streamBookLabels() throws SQLException {
+        String query = "SELECT id, title, author FROM books";
+        return openCursor(query, DEFAULT_FETCH_SIZE, resultSet -> {
+            Book book = new Book();
+            book.setId(resultSet.getInt("id"));
+            book.setTitle(resultSet.getString("title"));
+            book.setAuthor(resultSet.getString("author"));
+            return book;
+        });
+    }
+    
+
+    public List<Book> getBooksPage(String afterTitle, int afterId, int pageSize) {
         Connection connection = null;
         PreparedStatement statement = null;
         ResultSet resultSet = null;
         List<Book> books = new ArrayList<>();
         
-        String query = "SELECT id, title, author, category, quantity, floor, shelve FROM books ORDER BY title";
+        String query;
+        if (afterTitle == null) {
+            query = "SELECT id, title, author, category, quantity, floor, shelve FROM books " +
+                    "ORDER BY title, id FETCH FIRST ? ROWS ONLY";
+        } else {
+            query = "SELECT id, title, author, category, quantity, floor, shelve FROM books " +
+                    "WHERE title > ? OR (title = ? AND id > ?) " +
+                    "ORDER BY title, id FETCH FIRST ? ROWS ONLY";
+        }
         
         try {
             connection = getConnection();
-            statement = connection.prepareStatement(query);
+            statement = prepareStatement(connection, query);
+            if (afterTitle == null) {
+                statement.setInt(1, pageSize);
+            } else {
+                statement.setString(1, afterTitle);
+                statement.setString(2, afterTitle);
+                statement.setInt(3, afterId);
+                statement.setInt(4, pageSize);
+            }
             resultSet = statement.executeQuery();
             
             while (resultSet.next()) {
@@ -91,7 +234,7 @@ public class BookDao extends DatabaseService {
             }
             
         } catch (SQLException e) {
-            System.err.println("Error getting all books: " + e.getMessage());
+            System.err.println("Error getting books page: " + e.getMessage());
         } catch (Exception e) {
             System.err.println("Unexpected error:" + e.getMessage());
         } finally {
@@ -111,7 +254,7 @@ public class BookDao extends DatabaseService {
         
         try {
             connection = getConnection();
-            statement = connection.prepareStatement(query);
+            statement = prepareStatement(connection, query);
             statement.setString(1, "%" + title + "%");
             resultSet = statement.executeQuery();
             
@@ -142,7 +285,7 @@ public class BookDao extends DatabaseService {
         
         try {
             connection = getConnection();
-            statement = connection.prepareStatement(query);
+            statement = prepareStatement(connection, query);
             statement.setString(1, "%" + author + "%");
             resultSet = statement.executeQuery();
             
@@ -172,7 +315,7 @@ public class BookDao extends DatabaseService {
         
         try {
             connection = getConnection();
-            statement = connection.prepareStatement(query);
+            statement = prepareStatement(connection, query);
             statement.setString(1, "%" + category + "%");
             resultSet = statement.executeQuery();
             
@@ -204,7 +347,7 @@ public class BookDao extends DatabaseService {
         
         try {
             connection = getConnection();
-            statement = connection.prepareStatement(query);
+            statement = prepareStatement(connection, query);
             String searchPattern = "%" + searchTerm + "%";
             statement.setString(1, searchPattern);
             statement.setString(2, searchPattern);
@@ -227,6 +370,51 @@ public class BookDao extends DatabaseService {
     }
     
 
+    public SearchFacets getSearchFacets(String searchTerm) {
+        Connection connection = null;
+        PreparedStatement statement = null;
+        ResultSet resultSet = null;
+        
+        String query = "SELECT GROUPING(category) AS category_grouped, GROUPING(floor) AS floor_grouped, " +
+                      "category, floor, available, COUNT(*) AS matches FROM (" +
+                      "SELECT category, floor, CASE WHEN quantity > 0 THEN 1 ELSE 0 END AS available FROM books " +
+                      "WHERE UPPER(title) LIKE UPPER(?) OR UPPER(author) LIKE UPPER(?) OR UPPER(category) LIKE UPPER(?)) " +
+                      "GROUP BY GROUPING SETS ((category), (floor), (available))";
+        
+        try {
+            connection = getConnection();
+            statement = prepareStatement(connection, query);
+            String searchPattern = "%" + searchTerm + "%";
+            statement.setString(1, searchPattern);
+            statement.setString(2, searchPattern);
+            statement.setString(3, searchPattern);
+            resultSet = statement.executeQuery();
+            
+            SearchFacets facets = new SearchFacets();
+            while (resultSet.next()) {
+                int matches = resultSet.getInt("matches");
+                if (resultSet.getInt("category_grouped") == 0) {
+                    facets.addCategory(resultSet.getString("category"), matches);
+                } else if (resultSet.getInt("floor_grouped") == 0) {
+                    facets.addFloor(resultSet.getInt("floor"), matches);
+                } else {
+                    facets.addAvailability(resultSet.getInt("available") == 1, matches);
+                }
+            }
+            return facets;
+            
+        } catch (SQLException e) {
+            System.err.println("Error getting search facets: " + e.getMessage());
+        } catch (Exception e) {
+            System.err.println("Unexpected error:" + e.getMessage());
+        } finally {
+            closeResources(connection, statement, resultSet);
+        }
+        
+        return null;
+    }
+    
+
     public boolean updateBook(Book book) {
         Connection connection = null;
         PreparedStatement statement = null;
@@ -235,7 +423,7 @@ public class BookDao extends DatabaseService {
         
         try {
             connection = getConnection();
-            statement = connection.prepareStatement(query);
+            statement = prepareStatement(connection, query);
             
             statement.setString(1, book.getTitle());
             statement.setString(2, book.getAuthor());
@@ -246,6 +434,7 @@ public class BookDao extends DatabaseService {
             statement.setInt(7, book.getId());
             
             int rowsAffected = statement.executeUpdate();
+            evictFromCache(book.getId());
 
             return rowsAffected > 0;
             
@@ -263,29 +452,163 @@ public class BookDao extends DatabaseService {
 
     public boolean updateBookQuantity(int bookId, int newQuantity) {
         Connection connection = null;
+        
+        try {
+            connection = getConnection();
+            boolean updated = updateBookQuantity(connection, bookId, newQuantity);
+            evictFromCache(bookId);
+            return updated;
+            
+        } catch (SQLException e) {
+            System.err.println("Error updating book quantity: " + e.getMessage());
+            return false;
+        } catch (Exception e) {
+            System.err.println("Unexpected error:" + e.getMessage());
+            return false;
+        } finally {
+            closeResources(connection, null);
+        }
+    }
+    
+
+    public boolean updateBookQuantity(Connection connection, int bookId, int newQuantity) throws SQLException {
         PreparedStatement statement = null;
         
         String query = "UPDATE books SET quantity = ? WHERE id = ?";
         
         try {
-            connection = getConnection();
-            statement = connection.prepareStatement(query);
+            statement = prepareStatement(connection, query);
             
             statement.setInt(1, newQuantity);
             statement.setInt(2, bookId);
             
-            int rowsAffected = statement.executeUpdate();
+            return statement.executeUpdate() > 0;
+            
+        } finally {
+            closeResources(null, statement);
+        }
+    }
+    
 
-            return rowsAffected > 0;
+    public boolean decrementBookQuantity(int bookId) {
+        Connection connection = null;
+        
+        try {
+            connection = getConnection();
+            boolean updated = decrementBookQuantity(connection, bookId);
+            evictFromCache(bookId);
+            return updated;
             
         } catch (SQLException e) {
-            System.err.println("Error updating book quantity: " + e.getMessage());
+            System.err.println("Error decrementing book quantity: " + e.getMessage());
             return false;
         } catch (Exception e) {
             System.err.println("Unexpected error:" + e.getMessage());
             return false;
         } finally {
-            closeResources(connection, statement);
+            closeResources(connection, null);
+        }
+    }
+    
+
+    public boolean decrementBookQuantity(Connection connection, int bookId) throws SQLException {
+        PreparedStatement statement = null;
+        
+        String query = "UPDATE books SET quantity = quantity - 1 WHERE id = ? AND quantity > 0";
+        
+        try {
+            statement = prepareStatement(connection, query);
+            statement.setInt(1, bookId);
+            
+            return statement.executeUpdate() > 0;
+            
+        } finally {
+            closeResources(null, statement);
+        }
+    }
+    
+
+    public Map<Integer, Integer> lockBookQuantities(Connection connection, Collection<Integer> bookIds) throws SQLException {
+        Map<Integer, Integer> quantities = new HashMap<>();
+        List<Integer> ids = new ArrayList<>(bookIds);
+        
+        for (int from = 0; from < ids.size(); from += MAX_IN_LIST_SIZE) {
+            List<Integer> chunk = ids.subList(from, Math.min(from + MAX_IN_LIST_SIZE, ids.size()));
+            String query = "SELECT id, quantity FROM books WHERE id IN (" + placeholders(chunk.size()) + ") FOR UPDATE";
+            
+            PreparedStatement statement = null;
+            ResultSet resultSet = null;
+            try {
+                statement = connection.prepareStatement(query);
+                for (int i = 0; i < chunk.size(); i++) {
+                    statement.setInt(i + 1, chunk.get(i));
+                }
+                
+                resultSet = statement.executeQuery();
+                while (resultSet.next()) {
+                    quantities.put(resultSet.getInt("id"), resultSet.getInt("quantity"));
+                }
+            } finally {
+                closeResources(null, statement, resultSet);
+            }
+        }
+        
+        return quantities;
+    }
+    
+
+    public void decrementBookQuantities(Connection connection, List<Integer> bookIds) throws SQLException {
+        PreparedStatement statement = null;
+        
+        String query = "UPDATE books SET quantity = quantity - 1 WHERE id = ? AND quantity > 0";
+        
+        try {
+            statement = connection.prepareStatement(query);
+            for (int bookId : bookIds) {
+                statement.setInt(1, bookId);
+                statement.addBatch();
+            }
+            requireAllUpdated(statement.executeBatch(), "Quantity decrement");
+        } finally {
+            closeResources(null, statement);
+        }
+    }
+    
+
+    public boolean incrementBookQuantity(int bookId) {
+        Connection connection = null;
+        
+        try {
+            connection = getConnection();
+            boolean updated = incrementBookQuantity(connection, bookId);
+            evictFromCache(bookId);
+            return updated;
+            
+        } catch (SQLException e) {
+            System.err.println("Error incrementing book quantity: " + e.getMessage());
+            return false;
+        } catch (Exception e) {
+            System.err.println("Unexpected error:" + e.getMessage());
+            return false;
+        } finally {
+            closeResources(connection, null);
+        }
+    }
+    
+
+    public boolean incrementBookQuantity(Connection connection, int bookId) throws SQLException {
+        PreparedStatement statement = null;
+        
+        String query = "UPDATE books SET quantity = quantity + 1 WHERE id = ?";
+        
+        try {
+            statement = prepareStatement(connection, query);
+            statement.setInt(1, bookId);
+            
+            return statement.executeUpdate() > 0;
+            
+        } finally {
+            closeResources(null, statement);
         }
     }
     
@@ -298,10 +621,11 @@ public class BookDao extends DatabaseService {
         
         try {
             connection = getConnection();
-            statement = connection.prepareStatement(query);
+            statement = prepareStatement(connection, query);
             statement.setInt(1, bookId);
             
             int rowsAffected = statement.executeUpdate();
+            evictFromCache(bookId);
             
             return rowsAffected > 0;
             
@@ -327,7 +651,7 @@ public class BookDao extends DatabaseService {
         
         try {
             connection = getConnection();
-            statement = connection.prepareStatement(query);
+            statement = prepareStatement(connection, query);
             resultSet = statement.executeQuery();
             
             while (resultSet.next()) {
@@ -356,7 +680,7 @@ public class BookDao extends DatabaseService {
         
         try {
             connection = getConnection();
-            statement = connection.prepareStatement(query);
+            statement = prepareStatement(connection, query);
             statement.setString(1, category);
             resultSet = statement.executeQuery();
             
@@ -382,6 +706,124 @@ public class BookDao extends DatabaseService {
     }
     
 
+    public Map<Integer, Book> getBookLabels(Collection<Integer> bookIds) {
+        Connection connection = null;
+        Map<Integer, Book> labels = new HashMap<>();
+        List<Integer> ids = new ArrayList<>(bookIds);
+        
+        try {
+            connection = getConnection();
+            for (int from = 0; from < ids.size(); from += MAX_IN_LIST_SIZE) {
+                List<Integer> chunk = ids.subList(from, Math.min(from + MAX_IN_LIST_SIZE, ids.size()));
+                String query = "SELECT id, title, author FROM books WHERE id IN (" + placeholders(chunk.size()) + ")";
+                
+                PreparedStatement statement = null;
+                ResultSet resultSet = null;
+                try {
+                    statement = connection.prepareStatement(query);
+                    for (int i = 0; i < chunk.size(); i++) {
+                        statement.setInt(i + 1, chunk.get(i));
+                    }
+                    
+                    resultSet = statement.executeQuery();
+                    while (resultSet.next()) {
+                        Book book = new Book();
+                        book.setId(resultSet.getInt("id"));
+                        book.setTitle(resultSet.getString("title"));
+                        book.setAuthor(resultSet.getString("author"));
+                        labels.put(book.getId(), book);
+                    }
+                } finally {
+                    closeResources(null, statement, resultSet);
+                }
+            }
+            
+        } catch (SQLException e) {
+            System.err.println("Error getting book labels: " + e.getMessage());
+        } finally {
+            closeResources(connection, null);
+        }
+        
+        return labels;
+    }
+    
+
+    public int countBooks() {
+        return executeCountQuery("SELECT COUNT(*) FROM books");
+    }
+    
+
+    public int countAvailableBooks() {
+        return executeCountQuery("SELECT COUNT(*) FROM books WHERE quantity > 0");
+    }
+    
+
+    public int sumBookQuantities() {
+        return executeCountQuery("SELECT COALESCE(SUM(quantity), 0) FROM books");
+    }
+    
+
+    public CatalogStatistics getCatalogStatistics() {
+        Connection connection = null;
+        PreparedStatement statement = null;
+        ResultSet resultSet = null;
+        
+        String query = "SELECT GROUPING(category) AS category_grouped, GROUPING(floor) AS floor_grouped, category, floor, " +
+                      "COUNT(*) AS titles, SUM(CASE WHEN quantity > 0 THEN 1 ELSE 0 END) AS available_titles, " +
+                      "NVL(SUM(quantity), 0) AS copies " +
+                      "FROM books GROUP BY GROUPING SETS ((), (category), (floor)) " +
+                      "ORDER BY category_grouped, category, floor_grouped, floor";
+        
+        try {
+            connection = getConnection();
+            statement = prepareStatement(connection, query);
+            resultSet = statement.executeQuery();
+            
+            CatalogStatistics statistics = new CatalogStatistics();
+            while (resultSet.next()) {
+                boolean categoryGrouped = resultSet.getInt("category_grouped") == 1;
+                boolean floorGrouped = resultSet.getInt("floor_grouped") == 1;
+                int titles = resultSet.getInt("titles");
+                int availableTitles = resultSet.getInt("available_titles");
+                int copies = resultSet.getInt("copies");
+                
+                if (categoryGrouped && floorGrouped) {
+                    statistics.setTotalTitles(titles);
+                    statistics.setAvailableTitles(availableTitles);
+                    statistics.setTotalCopies(copies);
+                } else if (!categoryGrouped) {
+                    statistics.addCategory(resultSet.getString("category"),
+                            new CatalogStatistics.Breakdown(titles, availableTitles, copies));
+                } else {
+                    statistics.addFloor(resultSet.getInt("floor"),
+                            new CatalogStatistics.Breakdown(titles, availableTitles, copies));
+                }
+            }
+            return statistics;
+            
+        } catch (SQLException e) {
+            System.err.println("Error getting catalog statistics: " + e.getMessage());
+        } catch (Exception e) {
+            System.err.println("Unexpected error:" + e.getMessage());
+        } finally {
+            closeResources(connection, statement, resultSet);
+        }
+        
+        return null;
+    }
+    
+
+    // Connection-taking writes leave eviction to the caller, after its transaction commits.
+    public void evictFromCache(int bookId) {
+        BOOK_CACHE.invalidate(bookId);
+    }
+    
+
+    public static CacheStats getCacheStats() {
+        return BOOK_CACHE.getStats();
+    }
+    
+
     private Book mapResultSetToBook(ResultSet resultSet) throws SQLException {
         Book book = new Book();
         book.setId(resultSet.getInt("id"));
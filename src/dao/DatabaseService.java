@@ -2,9 +2,13 @@ package dao;
 
 import utils.DatabaseConnection;
 import java.sql.*;
+import java.util.Collections;
 
 
 public class DatabaseService {
+    protected static final int DEFAULT_FETCH_SIZE = 500;
+    protected static final int MAX_IN_LIST_SIZE = 1000;
+
     protected DatabaseConnection dbConnection;
     
     public DatabaseService() {
@@ -17,6 +21,11 @@ public class DatabaseService {
     }
     
 
+    protected PreparedStatement prepareStatement(Connection connection, String query) throws SQLException {
+        return dbConnection.prepareStatement(connection, query);
+    }
+    
+
     protected void closeResources(Connection connection, Statement statement, ResultSet resultSet) {
         if (resultSet != null) {
             try {
@@ -27,19 +36,11 @@ public class DatabaseService {
         }
         
         if (statement != null) {
-            try {
-                statement.close();
-            } catch (SQLException e) {
-                System.err.println("Error closing Statement: " + e.getMessage());
-            }
+            dbConnection.releaseStatement(statement);
         }
         
         if (connection != null) {
-            try {
-                connection.close();
-            } catch (SQLException e) {
-                System.err.println("Error closing Connection: " + e.getMessage());
-            }
+            dbConnection.releaseConnection(connection);
         }
     }
     
@@ -60,6 +61,76 @@ public class DatabaseService {
     }
     
 
+    protected void rollbackTransaction(Connection connection) {
+        if (connection != null) {
+            try {
+                connection.rollback();
+            } catch (SQLException e) {
+                System.err.println("Error rolling back transaction: " + e.getMessage());
+            }
+        }
+    }
+    
+
+    public <T> T executeInTransaction(TransactionCallback<T> callback) throws SQLException {
+        Connection connection = null;
+        
+        try {
+            connection = getConnection();
+            connection.setAutoCommit(false);
+            
+            T result = callback.doInTransaction(connection);
+            connection.commit();
+            return result;
+            
+        } catch (SQLException | RuntimeException e) {
+            rollbackTransaction(connection);
+            throw e;
+        } finally {
+            closeResources(connection, null);
+        }
+    }
+    
+
+    protected <T> ResultSetCursor<T> openCursor(String query, int fetchSize, RowMapper<T> rowMapper, Object... parameters) throws SQLException {
+        Connection connection = null;
+        PreparedStatement statement = null;
+        ResultSet resultSet = null;
+        
+        try {
+            connection = getConnection();
+            dbConnection.exemptFromLeakDetection(connection);
+            statement = connection.prepareStatement(query, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            
+            for (int i = 0; i < parameters.length; i++) {
+                statement.setObject(i + 1, parameters[i]);
+            }
+            
+            resultSet = statement.executeQuery();
+            return new ResultSetCursor<>(this, connection, statement, resultSet, rowMapper);
+            
+        } catch (SQLException | RuntimeException e) {
+            closeResources(connection, statement, resultSet);
+            throw e;
+        }
+    }
+    
+
+    protected static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+    
+
+    protected static void requireAllUpdated(int[] updateCounts, String description) throws SQLException {
+        for (int i = 0; i < updateCounts.length; i++) {
+            if (updateCounts[i] == 0 || updateCounts[i] == Statement.EXECUTE_FAILED) {
+                throw new SQLException(description + " failed for batch entry " + (i + 1));
+            }
+        }
+    }
+    
+
     protected int executeCountQuery(String query, Object... parameters) {
         Connection connection = null;
         PreparedStatement statement = null;
@@ -67,7 +138,7 @@ public class DatabaseService {
         
         try {
             connection = getConnection();
-            statement = connection.prepareStatement(query);
+            statement = prepareStatement(connection, query);
             
             for (int i = 0; i < parameters.length; i++) {
                 statement.setObject(i + 1, parameters[i]);
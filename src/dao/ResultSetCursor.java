@@ -0,0 +1,88 @@
+package dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+
+public class ResultSetCursor<T> implements Iterator<T>, AutoCloseable {
+    private final DatabaseService owner;
+    private final Connection connection;
+    private final PreparedStatement statement;
+    private final ResultSet resultSet;
+    private final RowMapper<T> rowMapper;
+
+    private boolean advanced;
+    private boolean hasRow;
+    private boolean closed;
+
+    ResultSetCursor(DatabaseService owner, Connection connection, PreparedStatement statement,
+                    ResultSet resultSet, RowMapper<T> rowMapper) {
+        this.owner = owner;
+        this.connection = connection;
+        this.statement = statement;
+        this.resultSet = resultSet;
+        this.rowMapper = rowMapper;
+    }
+
+
+    @Override
+    public boolean hasNext() {
+        if (closed) {
+            return false;
+        }
+
+        if (!advanced) {
+            try {
+                hasRow = resultSet.next();
+                advanced = true;
+            } catch (SQLException e) {
+                close();
+                throw new IllegalStateException("Error reading next row: " + e.getMessage(), e);
+            }
+
+            if (!hasRow) {
+                close();
+            }
+        }
+        return hasRow;
+    }
+
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        advanced = false;
+        try {
+            return rowMapper.mapRow(resultSet);
+        } catch (SQLException e) {
+            close();
+            throw new IllegalStateException("Error mapping row: " + e.getMessage(), e);
+        }
+    }
+
+
+    public Stream<T> stream() {
+        Spliterator<T> spliterator = Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false).onClose(this::close);
+    }
+
+
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            owner.closeResources(connection, statement, resultSet);
+        }
+    }
+}
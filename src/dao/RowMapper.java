@@ -0,0 +1,9 @@
+package dao;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+
+public interface RowMapper<T> {
+    T mapRow(ResultSet resultSet) throws SQLException;
+}
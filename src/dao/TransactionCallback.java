@@ -0,0 +1,9 @@
+package dao;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+
+public interface TransactionCallback<T> {
+    T doInTransaction(Connection connection) throws SQLException;
+}
@@ -1,7 +1,10 @@
 package dao;
 
+import dto.FineReportEntry;
 import dto.Transaction;
+import utils.LongIntHashMap;
 import java.sql.*;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -21,7 +24,7 @@ public class TransactionDao extends DatabaseService {
         
         try {
             connection = getConnection();
-            statement = connection.prepareStatement(query);
+            statement = prepareStatement(connection, query);
             
             statement.setInt(1, transaction.getUserId());
             statement.setInt(2, transaction.getBookId());
@@ -48,6 +51,24 @@ public class TransactionDao extends DatabaseService {
 
     public Transaction getTransactionById(int transactionId) {
         Connection connection = null;
+        
+        try {
+            connection = getConnection();
+            return getTransactionById(connection, transactionId);
+            
+        } catch (SQLException e) {
+            System.err.println("Error getting transaction by ID: " + e.getMessage());
+        }  catch (Exception e) {
+            System.err.println("Unexpected error ");
+        } finally {
+            closeResources(connection, null);
+        }
+        
+        return null;
+    }
+    
+
+    public Transaction getTransactionById(Connection connection, int transactionId) throws SQLException {
         PreparedStatement statement = null;
         ResultSet resultSet = null;
         
@@ -59,8 +80,7 @@ public class TransactionDao extends DatabaseService {
                       "WHERE t.id = ?";
         
         try {
-            connection = getConnection();
-            statement = connection.prepareStatement(query);
+            statement = prepareStatement(connection, query);
             statement.setInt(1, transactionId);
             
             resultSet = statement.executeQuery();
@@ -68,16 +88,40 @@ public class TransactionDao extends DatabaseService {
             if (resultSet.next()) {
                 return mapResultSetToTransaction(resultSet);
             }
+            return null;
             
-        } catch (SQLException e) {
-            System.err.println("Error getting transaction by ID: " + e.getMessage());
-        }  catch (Exception e) {
-            System.err.println("Unexpected error ");
         } finally {
-            closeResources(connection, statement, resultSet);
+            closeResources(null, statement, resultSet);
         }
+    }
+    
+
+    public Transaction lockTransaction(Connection connection, int transactionId) throws SQLException {
+        PreparedStatement statement = null;
+        ResultSet resultSet = null;
         
-        return null;
+        String query = "SELECT t.id, t.u_id, t.b_id, t.status, t.issue_date, t.return_date, " +
+                      "u.name as user_name, b.title as book_title, b.author as book_author " +
+                      "FROM transactions t " +
+                      "JOIN users u ON t.u_id = u.id " +
+                      "JOIN books b ON t.b_id = b.id " +
+                      "WHERE t.id = ? " +
+                      "FOR UPDATE OF t.id";
+        
+        try {
+            statement = prepareStatement(connection, query);
+            statement.setInt(1, transactionId);
+            
+            resultSet = statement.executeQuery();
+            
+            if (resultSet.next()) {
+                return mapResultSetToTransaction(resultSet);
+            }
+            return null;
+            
+        } finally {
+            closeResources(null, statement, resultSet);
+        }
     }
     
 
@@ -87,24 +131,138 @@ public class TransactionDao extends DatabaseService {
         ResultSet resultSet = null;
         List<Transaction> transactions = new ArrayList<>();
         
+        String query = "SELECT t.id, t.u_id, t.b_id, t.status, t.issue_date, t.return_date " +
+                      "FROM transactions t " +
+                      "ORDER BY t.issue_date DESC";
+        
+        try {
+            connection = getConnection();
+            statement = prepareStatement(connection, query);
+            resultSet = statement.executeQuery();
+            
+            while (resultSet.next()) {
+                transactions.add(mapTransactionRow(resultSet));
+            }
+            
+        } catch (SQLException e) {
+            System.err.println("Error getting all transactions: " + e.getMessage());
+        } catch (Exception e) {
+            System.err.println("Unexpected error ");
+        }  finally {
+            closeResources(connection, statement, resultSet);
+        }
+        
+        return transactions;
+    }
+    
+
+    public ResultSetCursor<Transaction> streamAllTransactions() throws SQLException {
+        return streamAllTransactions(DEFAULT_FETCH_SIZE);
+    }
+    
+
+    public ResultSetCursor<Transaction> streamAllTransactions(int fetchSize) throws SQLException {
         String query = "SELECT t.id, t.u_id, t.b_id, t.status, t.issue_date, t.return_date, " +
                       "u.name as user_name, b.title as book_title, b.author as book_author " +
                       "FROM transactions t " +
                       "JOIN users u ON t.u_id = u.id " +
                       "JOIN books b ON t.b_id = b.id " +
-                      "ORDER BY t.issue_date DESC";
+                      "ORDER BY t.id";
+        return openCursor(query, fetchSize, this::mapResultSetToTransaction);
+    }
+    
+
+    public ResultSetCursor<Transaction> streamActiveLoans() throws SQLException {
+        String query = "SELECT t.id, t.u_id, t.b_id, t.status, t.issue_date, t.return_date " +
+                      "FROM transactions t " +
+                      "WHERE t.status = 'APPROVED' AND t.return_date IS NULL";
+        return openCursor(query, DEFAULT_FETCH_SIZE, this::mapTransactionRow);
+    }
+    
+
+    public List<FineReportEntry> getFineReport(LocalDate today) {
+        Connection connection = null;
+        PreparedStatement statement = null;
+        ResultSet resultSet = null;
+        List<FineReportEntry> entries = new ArrayList<>();
+        
+        String query = "SELECT id, u_id, user_name, b_id, book_title, issue_date, due_date, overdue_days, " +
+                      "overdue_days * ? AS fine, " +
+                      "SUM(overdue_days) OVER (PARTITION BY u_id) * ? AS user_total_fine, " +
+                      "COUNT(*) OVER (PARTITION BY u_id) AS user_overdue_loans " +
+                      "FROM (SELECT t.id, t.u_id, u.name AS user_name, t.b_id, b.title AS book_title, t.issue_date, " +
+                      "TRUNC(t.issue_date) + ? AS due_date, ? - (TRUNC(t.issue_date) + ?) AS overdue_days " +
+                      "FROM transactions t " +
+                      "JOIN users u ON t.u_id = u.id " +
+                      "JOIN books b ON t.b_id = b.id " +
+                      "WHERE t.status = 'APPROVED' AND t.return_date IS NULL) " +
+                      "WHERE overdue_days > 0 " +
+                      "ORDER BY user_total_fine DESC, u_id, fine DESC, id";
         
         try {
             connection = getConnection();
-            statement = connection.prepareStatement(query);
+            statement = prepareStatement(connection, query);
+            statement.setDouble(1, Transaction.FINE_PER_DAY);
+            statement.setDouble(2, Transaction.FINE_PER_DAY);
+            statement.setInt(3, Transaction.RETURN_PERIOD_DAYS);
+            statement.setDate(4, Date.valueOf(today));
+            statement.setInt(5, Transaction.RETURN_PERIOD_DAYS);
             resultSet = statement.executeQuery();
             
             while (resultSet.next()) {
-                transactions.add(mapResultSetToTransaction(resultSet));
+                FineReportEntry entry = new FineReportEntry();
+                entry.setTransactionId(resultSet.getInt("id"));
+                entry.setUserId(resultSet.getInt("u_id"));
+                entry.setUserName(resultSet.getString("user_name"));
+                entry.setBookId(resultSet.getInt("b_id"));
+                entry.setBookTitle(resultSet.getString("book_title"));
+                entry.setIssueDate(resultSet.getDate("issue_date"));
+                entry.setDueDate(resultSet.getDate("due_date"));
+                entry.setOverdueDays(resultSet.getInt("overdue_days"));
+                entry.setFine(resultSet.getDouble("fine"));
+                entry.setUserTotalFine(resultSet.getDouble("user_total_fine"));
+                entry.setUserOverdueLoans(resultSet.getInt("user_overdue_loans"));
+                entries.add(entry);
             }
             
         } catch (SQLException e) {
-            System.err.println("Error getting all transactions: " + e.getMessage());
+            System.err.println("Error getting fine report: " + e.getMessage());
+            return null;
+        } catch (Exception e) {
+            System.err.println("Unexpected error:" + e.getMessage());
+            return null;
+        } finally {
+            closeResources(connection, statement, resultSet);
+        }
+        
+        return entries;
+    }
+    
+
+    public List<Transaction> getTransactionsPage(int beforeId, int pageSize) {
+        Connection connection = null;
+        PreparedStatement statement = null;
+        ResultSet resultSet = null;
+        List<Transaction> transactions = new ArrayList<>();
+        
+        String query = "SELECT t.id, t.u_id, t.b_id, t.status, t.issue_date, t.return_date " +
+                      "FROM transactions t " +
+                      "WHERE t.id < ? " +
+                      "ORDER BY t.id DESC FETCH FIRST ? ROWS ONLY";
+        
+        try {
+            connection = getConnection();
+            statement = prepareStatement(connection, query);
+            statement.setInt(1, beforeId);
+            statement.setInt(2, pageSize);
+            resultSet = statement.executeQuery();
+            
+            while (resultSet.next()) {
+                transactions.add(mapTransactionRow(resultSet));
+            }
+            
+        } catch (SQLException e) {
+            System.err.println("Error getting transactions page: " + e.getMessage());
         } catch (Exception e) {
             System.err.println("Unexpected error ");
         }  finally {
@@ -121,22 +279,19 @@ public class TransactionDao extends DatabaseService {
         ResultSet resultSet = null;
         List<Transaction> transactions = new ArrayList<>();
         
-        String query = "SELECT t.id, t.u_id, t.b_id, t.status, t.issue_date, t.return_date, " +
-                      "u.name as user_name, b.title as book_title, b.author as book_author " +
+        String query = "SELECT t.id, t.u_id, t.b_id, t.status, t.issue_date, t.return_date " +
                       "FROM transactions t " +
-                      "JOIN users u ON t.u_id = u.id " +
-                      "JOIN books b ON t.b_id = b.id " +
                       "WHERE t.u_id = ? " +
                       "ORDER BY t.issue_date DESC";
         
         try {
             connection = getConnection();
-            statement = connection.prepareStatement(query);
+            statement = prepareStatement(connection, query);
             statement.setInt(1, userId);
             resultSet = statement.executeQuery();
             
             while (resultSet.next()) {
-                transactions.add(mapResultSetToTransaction(resultSet));
+                transactions.add(mapTransactionRow(resultSet));
             }
             
         } catch (SQLException e) {
@@ -157,21 +312,18 @@ public class TransactionDao extends DatabaseService {
         ResultSet resultSet = null;
         List<Transaction> transactions = new ArrayList<>();
         
-        String query = "SELECT t.id, t.u_id, t.b_id, t.status, t.issue_date, t.return_date, " +
-                      "u.name as user_name, b.title as book_title, b.author as book_author " +
+        String query = "SELECT t.id, t.u_id, t.b_id, t.status, t.issue_date, t.return_date " +
                       "FROM transactions t " +
-                      "JOIN users u ON t.u_id = u.id " +
-                      "JOIN books b ON t.b_id = b.id " +
                       "WHERE t.status = 'PENDING' " +
                       "ORDER BY t.issue_date ASC";
         
         try {
             connection = getConnection();
-            statement = connection.prepareStatement(query);
+            statement = prepareStatement(connection, query);
             resultSet = statement.executeQuery();
             
             while (resultSet.next()) {
-                transactions.add(mapResultSetToTransaction(resultSet));
+                transactions.add(mapTransactionRow(resultSet));
             }
             
         } catch (SQLException e) {
@@ -192,21 +344,18 @@ public class TransactionDao extends DatabaseService {
         ResultSet resultSet = null;
         List<Transaction> transactions = new ArrayList<>();
         
-        String query = "SELECT t.id, t.u_id, t.b_id, t.status, t.issue_date, t.return_date, " +
-                      "u.name as user_name, b.title as book_title, b.author as book_author " +
+        String query = "SELECT t.id, t.u_id, t.b_id, t.status, t.issue_date, t.return_date " +
                       "FROM transactions t " +
-                      "JOIN users u ON t.u_id = u.id " +
-                      "JOIN books b ON t.b_id = b.id " +
                       "WHERE t.status = 'APPROVED' AND t.return_date IS NULL " +
                       "ORDER BY t.issue_date ASC";
         
         try {
             connection = getConnection();
-            statement = connection.prepareStatement(query);
+            statement = prepareStatement(connection, query);
             resultSet = statement.executeQuery();
             
             while (resultSet.next()) {
-                transactions.add(mapResultSetToTransaction(resultSet));
+                transactions.add(mapTransactionRow(resultSet));
             }
             
         } catch (SQLException e) {
@@ -223,13 +372,30 @@ public class TransactionDao extends DatabaseService {
 
     public boolean updateTransactionStatus(int transactionId, String newStatus) {
         Connection connection = null;
+        
+        try {
+            connection = getConnection();
+            return updateTransactionStatus(connection, transactionId, newStatus);
+            
+        } catch (SQLException e) {
+            System.err.println("Error updating transaction status: " + e.getMessage());
+            return false;
+        } catch (Exception e) {
+            System.err.println("Unexpected error ");
+            return false;
+        }  finally {
+            closeResources(connection, null);
+        }
+    }
+    
+
+    public boolean updateTransactionStatus(Connection connection, int transactionId, String newStatus) throws SQLException {
         PreparedStatement statement = null;
         
         String query = "UPDATE transactions SET status = ? WHERE id = ?";
         
         try {
-            connection = getConnection();
-            statement = connection.prepareStatement(query);
+            statement = prepareStatement(connection, query);
             
             statement.setString(1, newStatus);
             statement.setInt(2, transactionId);
@@ -238,33 +404,81 @@ public class TransactionDao extends DatabaseService {
 
             return rowsAffected > 0;
             
+        } finally {
+            closeResources(null, statement);
+        }
+    }
+
+    public boolean updatePendingTransactionStatus(int transactionId, String newStatus) {
+        Connection connection = null;
+        
+        try {
+            connection = getConnection();
+            return updatePendingTransactionStatus(connection, transactionId, newStatus);
+            
         } catch (SQLException e) {
             System.err.println("Error updating transaction status: " + e.getMessage());
             return false;
-        } catch (Exception e) {
-            System.err.println("Unexpected error ");
-            return false;
-        }  finally {
-            closeResources(connection, statement);
+        } finally {
+            closeResources(connection, null);
         }
     }
+    
 
-    public boolean returnBook(int transactionId, Date returnDate) {
-        Connection connection = null;
+    public boolean updatePendingTransactionStatus(Connection connection, int transactionId, String newStatus) throws SQLException {
         PreparedStatement statement = null;
         
-        String query = "UPDATE transactions SET return_date = ? WHERE id = ?";
+        String query = "UPDATE transactions SET status = ? WHERE id = ? AND status = 'PENDING'";
         
         try {
-            connection = getConnection();
-            statement = connection.prepareStatement(query);
+            statement = prepareStatement(connection, query);
             
-            statement.setDate(1, returnDate);
+            statement.setString(1, newStatus);
             statement.setInt(2, transactionId);
             
-            int rowsAffected = statement.executeUpdate();
+            return statement.executeUpdate() > 0;
             
-            return rowsAffected > 0;
+        } finally {
+            closeResources(null, statement);
+        }
+    }
+    
+
+    public List<Transaction> lockPendingTransactions(Connection connection, List<Integer> transactionIds) throws SQLException {
+        return lockPendingTransactions(connection, "id", transactionIds);
+    }
+    
+
+    public List<Transaction> lockPendingTransactionsForBooks(Connection connection, List<Integer> bookIds) throws SQLException {
+        return lockPendingTransactions(connection, "b_id", bookIds);
+    }
+    
+
+    public void updateTransactionStatuses(Connection connection, List<Integer> transactionIds, String newStatus) throws SQLException {
+        PreparedStatement statement = null;
+        
+        String query = "UPDATE transactions SET status = ? WHERE id = ?";
+        
+        try {
+            statement = connection.prepareStatement(query);
+            for (int transactionId : transactionIds) {
+                statement.setString(1, newStatus);
+                statement.setInt(2, transactionId);
+                statement.addBatch();
+            }
+            requireAllUpdated(statement.executeBatch(), "Status update");
+        } finally {
+            closeResources(null, statement);
+        }
+    }
+    
+
+    public boolean returnBook(int transactionId, Date returnDate) {
+        Connection connection = null;
+        
+        try {
+            connection = getConnection();
+            return returnBook(connection, transactionId, returnDate);
             
         } catch (SQLException e) {
             System.err.println("Error returning book: " + e.getMessage());
@@ -273,11 +487,54 @@ public class TransactionDao extends DatabaseService {
             System.err.println("Unexpected error ");
             return false;
         }  finally {
-            closeResources(connection, statement);
+            closeResources(connection, null);
+        }
+    }
+    
+
+    public boolean returnBook(Connection connection, int transactionId, Date returnDate) throws SQLException {
+        PreparedStatement statement = null;
+        
+        String query = "UPDATE transactions SET return_date = ? WHERE id = ? AND status = 'APPROVED' AND return_date IS NULL";
+        
+        try {
+            statement = prepareStatement(connection, query);
+            
+            statement.setDate(1, returnDate);
+            statement.setInt(2, transactionId);
+            
+            int rowsAffected = statement.executeUpdate();
+            
+            return rowsAffected > 0;
+            
+        } finally {
+            closeResources(null, statement);
         }
     }
     
 
+    public ResultSetCursor<Long> streamActiveRequestKeys() throws SQLException {
+        String query = "SELECT u_id, b_id FROM transactions WHERE status IN ('PENDING', 'APPROVED') AND return_date IS NULL";
+        return openCursor(query, DEFAULT_FETCH_SIZE, resultSet ->
+                LongIntHashMap.pack(resultSet.getInt("u_id"), resultSet.getInt("b_id")));
+    }
+    
+
+    public int countTransactions() {
+        return executeCountQuery("SELECT COUNT(*) FROM transactions");
+    }
+    
+
+    public int countTransactionsByStatus(String status) {
+        return executeCountQuery("SELECT COUNT(*) FROM transactions WHERE status = ?", status);
+    }
+    
+
+    public int countActiveLoans() {
+        return executeCountQuery("SELECT COUNT(*) FROM transactions WHERE status = 'APPROVED' AND return_date IS NULL");
+    }
+    
+
     public boolean hasActiveRequest(int userId, int bookId) {
         String query = "SELECT COUNT(*) FROM transactions WHERE u_id = ? AND b_id = ? AND status IN ('PENDING', 'APPROVED') AND return_date IS NULL";
         return executeCountQuery(query, userId, bookId) > 0;
@@ -290,22 +547,19 @@ public class TransactionDao extends DatabaseService {
         ResultSet resultSet = null;
         List<Transaction> transactions = new ArrayList<>();
         
-        String query = "SELECT t.id, t.u_id, t.b_id, t.status, t.issue_date, t.return_date, " +
-                      "u.name as user_name, b.title as book_title, b.author as book_author " +
+        String query = "SELECT t.id, t.u_id, t.b_id, t.status, t.issue_date, t.return_date " +
                       "FROM transactions t " +
-                      "JOIN users u ON t.u_id = u.id " +
-                      "JOIN books b ON t.b_id = b.id " +
                       "WHERE t.u_id = ? AND t.status = 'APPROVED' AND t.return_date IS NULL " +
                       "ORDER BY t.issue_date DESC";
         
         try {
             connection = getConnection();
-            statement = connection.prepareStatement(query);
+            statement = prepareStatement(connection, query);
             statement.setInt(1, userId);
             resultSet = statement.executeQuery();
             
             while (resultSet.next()) {
-                transactions.add(mapResultSetToTransaction(resultSet));
+                transactions.add(mapTransactionRow(resultSet));
             }
             
         } catch (SQLException e) {
@@ -326,22 +580,19 @@ public class TransactionDao extends DatabaseService {
         ResultSet resultSet = null;
         List<Transaction> transactions = new ArrayList<>();
         
-        String query = "SELECT t.id, t.u_id, t.b_id, t.status, t.issue_date, t.return_date, " +
-                      "u.name as user_name, b.title as book_title, b.author as book_author " +
+        String query = "SELECT t.id, t.u_id, t.b_id, t.status, t.issue_date, t.return_date " +
                       "FROM transactions t " +
-                      "JOIN users u ON t.u_id = u.id " +
-                      "JOIN books b ON t.b_id = b.id " +
                       "WHERE t.status = ? " +
                       "ORDER BY t.issue_date DESC";
         
         try {
             connection = getConnection();
-            statement = connection.prepareStatement(query);
+            statement = prepareStatement(connection, query);
             statement.setString(1, status);
             resultSet = statement.executeQuery();
             
             while (resultSet.next()) {
-                transactions.add(mapResultSetToTransaction(resultSet));
+                transactions.add(mapTransactionRow(resultSet));
             }
             
         } catch (SQLException e) {
@@ -364,7 +615,7 @@ public class TransactionDao extends DatabaseService {
         
         try {
             connection = getConnection();
-            statement = connection.prepareStatement(query);
+            statement = prepareStatement(connection, query);
             statement.setInt(1, transactionId);
             
             int rowsAffected = statement.executeUpdate();
@@ -385,7 +636,47 @@ public class TransactionDao extends DatabaseService {
     }
     
 
+    private List<Transaction> lockPendingTransactions(Connection connection, String keyColumn, List<Integer> keys) throws SQLException {
+        List<Transaction> transactions = new ArrayList<>();
+        
+        for (int from = 0; from < keys.size(); from += MAX_IN_LIST_SIZE) {
+            List<Integer> chunk = keys.subList(from, Math.min(from + MAX_IN_LIST_SIZE, keys.size()));
+            String query = "SELECT id, u_id, b_id, status, issue_date, return_date FROM transactions " +
+                          "WHERE status = 'PENDING' AND " + keyColumn + " IN (" + placeholders(chunk.size()) + ") " +
+                          "FOR UPDATE";
+            
+            PreparedStatement statement = null;
+            ResultSet resultSet = null;
+            try {
+                statement = connection.prepareStatement(query);
+                for (int i = 0; i < chunk.size(); i++) {
+                    statement.setInt(i + 1, chunk.get(i));
+                }
+                
+                resultSet = statement.executeQuery();
+                while (resultSet.next()) {
+                    transactions.add(mapTransactionRow(resultSet));
+                }
+            } finally {
+                closeResources(null, statement, resultSet);
+            }
+        }
+        
+        transactions.sort((left, right) -> Integer.compare(left.getId(), right.getId()));
+        return transactions;
+    }
+    
+
     private Transaction mapResultSetToTransaction(ResultSet resultSet) throws SQLException {
+        Transaction transaction = mapTransactionRow(resultSet);
+        transaction.setUserName(resultSet.getString("user_name"));
+        transaction.setBookTitle(resultSet.getString("book_title"));
+        transaction.setBookAuthor(resultSet.getString("book_author"));
+        return transaction;
+    }
+    
+
+    private Transaction mapTransactionRow(ResultSet resultSet) throws SQLException {
         Transaction transaction = new Transaction();
         transaction.setId(resultSet.getInt("id"));
         transaction.setUserId(resultSet.getInt("u_id"));
@@ -393,15 +684,6 @@ public class TransactionDao extends DatabaseService {
         transaction.setStatus(resultSet.getString("status"));
         transaction.setIssueDate(resultSet.getDate("issue_date"));
         transaction.setReturnDate(resultSet.getDate("return_date"));
-        
-        try {
-            transaction.setUserName(resultSet.getString("user_name"));
-            transaction.setBookTitle(resultSet.getString("book_title"));
-            transaction.setBookAuthor(resultSet.getString("book_author"));
-        } catch (Exception e) {
-            System.err.println("Unexpected error ");
-        }
-        
         return transaction;
     }
-}
\ No newline at end of file
+}
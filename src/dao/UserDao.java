@@ -3,7 +3,10 @@ package dao;
 import dto.User;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 
 public class UserDao extends DatabaseService {
@@ -21,7 +24,7 @@ public class UserDao extends DatabaseService {
         
         try {
             connection = getConnection();
-            statement = connection.prepareStatement(query);
+            statement = prepareStatement(connection, query);
             statement.setString(1, email);
             statement.setString(2, password);
             
@@ -52,12 +55,13 @@ public class UserDao extends DatabaseService {
     public boolean createUser(User user) {
         Connection connection = null;
         PreparedStatement statement = null;
+        ResultSet generatedKeys = null;
         
         String query = "INSERT INTO users (name, email, password, user_type) VALUES (?, ?, ?, ?)";
         
         try {
             connection = getConnection();
-            statement = connection.prepareStatement(query);
+            statement = connection.prepareStatement(query, new String[] {"id"});
             
             statement.setString(1, user.getName());
             statement.setString(2, user.getEmail());
@@ -65,13 +69,19 @@ public class UserDao extends DatabaseService {
             statement.setString(4, user.getUserType());
             
             int rowsAffected = statement.executeUpdate();
+
+            generatedKeys = statement.getGeneratedKeys();
+            if (generatedKeys.next()) {
+                user.setId(generatedKeys.getInt(1));
+            }
+
             return rowsAffected > 0;
             
         } catch (SQLException e) {
             System.err.println("Error creating user: " + e.getMessage());
             return false;
         } finally {
-            closeResources(connection, statement);
+            closeResources(connection, statement, generatedKeys);
         }
     }
     
@@ -85,7 +95,7 @@ public class UserDao extends DatabaseService {
         
         try {
             connection = getConnection();
-            statement = connection.prepareStatement(query);
+            statement = prepareStatement(connection, query);
             statement.setInt(1, userId);
             
             resultSet = statement.executeQuery();
@@ -121,7 +131,7 @@ public class UserDao extends DatabaseService {
         
         try {
             connection = getConnection();
-            statement = connection.prepareStatement(query);
+            statement = prepareStatement(connection, query);
             statement.setString(1, email);
             
             resultSet = statement.executeQuery();
@@ -158,7 +168,7 @@ public class UserDao extends DatabaseService {
         
         try {
             connection = getConnection();
-            statement = connection.prepareStatement(query);
+            statement = prepareStatement(connection, query);
             resultSet = statement.executeQuery();
             
             while (resultSet.next()) {
@@ -183,6 +193,68 @@ public class UserDao extends DatabaseService {
     }
     
 
+    public ResultSetCursor<User> streamUserNames() throws SQLException {
+        String query = "SELECT id, name FROM users";
+        return openCursor(query, DEFAULT_FETCH_SIZE, resultSet -> {
+            User user = new User();
+            user.setId(resultSet.getInt("id"));
+            user.setName(resultSet.getString("name"));
+            return user;
+        });
+    }
+    
+
+    public List<User> getUsersPage(String afterName, int afterId, int pageSize) {
+        Connection connection = null;
+        PreparedStatement statement = null;
+        ResultSet resultSet = null;
+        List<User> users = new ArrayList<>();
+        
+        String query;
+        if (afterName == null) {
+            query = "SELECT id, name, email, password, user_type FROM users " +
+                    "ORDER BY name, id FETCH FIRST ? ROWS ONLY";
+        } else {
+            query = "SELECT id, name, email, password, user_type FROM users " +
+                    "WHERE name > ? OR (name = ? AND id > ?) " +
+                    "ORDER BY name, id FETCH FIRST ? ROWS ONLY";
+        }
+        
+        try {
+            connection = getConnection();
+            statement = prepareStatement(connection, query);
+            if (afterName == null) {
+                statement.setInt(1, pageSize);
+            } else {
+                statement.setString(1, afterName);
+                statement.setString(2, afterName);
+                statement.setInt(3, afterId);
+                statement.setInt(4, pageSize);
+            }
+            resultSet = statement.executeQuery();
+            
+            while (resultSet.next()) {
+                User user = new User();
+                user.setId(resultSet.getInt("id"));
+                user.setName(resultSet.getString("name"));
+                user.setEmail(resultSet.getString("email"));
+                user.setPassword(resultSet.getString("password"));
+                user.setUserType(resultSet.getString("user_type"));
+                users.add(user);
+            }
+            
+        } catch (SQLException e) {
+            System.err.println("Error getting users page: " + e.getMessage());
+        } catch (Exception e) {
+            System.err.println("Unexpected error ");
+        } finally {
+            closeResources(connection, statement, resultSet);
+        }
+        
+        return users;
+    }
+    
+
     public boolean updateUser(User user) {
         Connection connection = null;
         PreparedStatement statement = null;
@@ -191,7 +263,7 @@ public class UserDao extends DatabaseService {
         
         try {
             connection = getConnection();
-            statement = connection.prepareStatement(query);
+            statement = prepareStatement(connection, query);
             
             statement.setString(1, user.getName());
             statement.setString(2, user.getEmail());
@@ -222,7 +294,7 @@ public class UserDao extends DatabaseService {
         
         try {
             connection = getConnection();
-            statement = connection.prepareStatement(query);
+            statement = prepareStatement(connection, query);
             statement.setInt(1, userId);
             
             int rowsAffected = statement.executeUpdate();
@@ -257,7 +329,7 @@ public class UserDao extends DatabaseService {
         
         try {
             connection = getConnection();
-            statement = connection.prepareStatement(query);
+            statement = prepareStatement(connection, query);
             statement.setString(1, userType);
             resultSet = statement.executeQuery();
             
@@ -281,4 +353,42 @@ public class UserDao extends DatabaseService {
         
         return users;
     }
-}
\ No newline at end of file
+    
+
+    public Map<Integer, String> getUserNames(Collection<Integer> userIds) {
+        Connection connection = null;
+        Map<Integer, String> names = new HashMap<>();
+        List<Integer> ids = new ArrayList<>(userIds);
+        
+        try {
+            connection = getConnection();
+            for (int from = 0; from < ids.size(); from += MAX_IN_LIST_SIZE) {
+                List<Integer> chunk = ids.subList(from, Math.min(from + MAX_IN_LIST_SIZE, ids.size()));
+                String query = "SELECT id, name FROM users WHERE id IN (" + placeholders(chunk.size()) + ")";
+                
+                PreparedStatement statement = null;
+                ResultSet resultSet = null;
+                try {
+                    statement = connection.prepareStatement(query);
+                    for (int i = 0; i < chunk.size(); i++) {
+                        statement.setInt(i + 1, chunk.get(i));
+                    }
+                    
+                    resultSet = statement.executeQuery();
+                    while (resultSet.next()) {
+                        names.put(resultSet.getInt("id"), resultSet.getString("name"));
+                    }
+                } finally {
+                    closeResources(null, statement, resultSet);
+                }
+            }
+            
+        } catch (SQLException e) {
+            System.err.println("Error getting user names: " + e.getMessage());
+        } finally {
+            closeResources(connection, null);
+        }
+        
+        return names;
+    }
+}
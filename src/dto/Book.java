@@ -19,6 +19,16 @@ public class Book {
         this.floor = floor;
         this.shelve = shelve;
     }
+
+    public Book(Book other) {
+        this.id = other.id;
+        this.title = other.title;
+        this.author = other.author;
+        this.category = other.category;
+        this.quantity = other.quantity;
+        this.floor = other.floor;
+        this.shelve = other.shelve;
+    }
     
     public int getId() {
         return id;
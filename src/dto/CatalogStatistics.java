@@ -0,0 +1,85 @@
+package dto;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class CatalogStatistics {
+    private int totalTitles;
+    private int availableTitles;
+    private int totalCopies;
+    private final Map<String, Breakdown> categories = new LinkedHashMap<>();
+    private final Map<Integer, Breakdown> floors = new LinkedHashMap<>();
+    
+    public CatalogStatistics() {}
+    
+    public int getTotalTitles() {
+        return totalTitles;
+    }
+    
+    public void setTotalTitles(int totalTitles) {
+        this.totalTitles = totalTitles;
+    }
+    
+    public int getAvailableTitles() {
+        return availableTitles;
+    }
+    
+    public void setAvailableTitles(int availableTitles) {
+        this.availableTitles = availableTitles;
+    }
+    
+    public int getTotalCopies() {
+        return totalCopies;
+    }
+    
+    public void setTotalCopies(int totalCopies) {
+        this.totalCopies = totalCopies;
+    }
+    
+    public Map<String, Breakdown> getCategories() {
+        return categories;
+    }
+    
+    public void addCategory(String category, Breakdown breakdown) {
+        categories.put(category, breakdown);
+    }
+    
+    public Map<Integer, Breakdown> getFloors() {
+        return floors;
+    }
+    
+    public void addFloor(int floor, Breakdown breakdown) {
+        floors.put(floor, breakdown);
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("CatalogStatistics{titles=%d, available=%d, copies=%d, categories=%d, floors=%d}",
+                           totalTitles, availableTitles, totalCopies, categories.size(), floors.size());
+    }
+    
+    
+    public static class Breakdown {
+        private final int titles;
+        private final int availableTitles;
+        private final int copies;
+        
+        public Breakdown(int titles, int availableTitles, int copies) {
+            this.titles = titles;
+            this.availableTitles = availableTitles;
+            this.copies = copies;
+        }
+        
+        public int getTitles() {
+            return titles;
+        }
+        
+        public int getAvailableTitles() {
+            return availableTitles;
+        }
+        
+        public int getCopies() {
+            return copies;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package dto;
+
+import java.util.List;
+
+public class FacetedSearchResult {
+    private final List<Book> books;
+    private final SearchFacets facets;
+    
+    public FacetedSearchResult(List<Book> books, SearchFacets facets) {
+        this.books = books;
+        this.facets = facets;
+    }
+    
+    public List<Book> getBooks() {
+        return books;
+    }
+    
+    public SearchFacets getFacets() {
+        return facets;
+    }
+}
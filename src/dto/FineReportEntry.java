@@ -0,0 +1,113 @@
+package dto;
+
+import java.sql.Date;
+
+public class FineReportEntry {
+    private int transactionId;
+    private int userId;
+    private String userName;
+    private int bookId;
+    private String bookTitle;
+    private Date issueDate;
+    private Date dueDate;
+    private int overdueDays;
+    private double fine;
+    private double userTotalFine;
+    private int userOverdueLoans;
+    
+    public FineReportEntry() {}
+    
+    public int getTransactionId() {
+        return transactionId;
+    }
+    
+    public void setTransactionId(int transactionId) {
+        this.transactionId = transactionId;
+    }
+    
+    public int getUserId() {
+        return userId;
+    }
+    
+    public void setUserId(int userId) {
+        this.userId = userId;
+    }
+    
+    public String getUserName() {
+        return userName;
+    }
+    
+    public void setUserName(String userName) {
+        this.userName = userName;
+    }
+    
+    public int getBookId() {
+        return bookId;
+    }
+    
+    public void setBookId(int bookId) {
+        this.bookId = bookId;
+    }
+    
+    public String getBookTitle() {
+        return bookTitle;
+    }
+    
+    public void setBookTitle(String bookTitle) {
+        this.bookTitle = bookTitle;
+    }
+    
+    public Date getIssueDate() {
+        return issueDate;
+    }
+    
+    public void setIssueDate(Date issueDate) {
+        this.issueDate = issueDate;
+    }
+    
+    public Date getDueDate() {
+        return dueDate;
+    }
+    
+    public void setDueDate(Date dueDate) {
+        this.dueDate = dueDate;
+    }
+    
+    public int getOverdueDays() {
+        return overdueDays;
+    }
+    
+    public void setOverdueDays(int overdueDays) {
+        this.overdueDays = overdueDays;
+    }
+    
+    public double getFine() {
+        return fine;
+    }
+    
+    public void setFine(double fine) {
+        this.fine = fine;
+    }
+    
+    public double getUserTotalFine() {
+        return userTotalFine;
+    }
+    
+    public void setUserTotalFine(double userTotalFine) {
+        this.userTotalFine = userTotalFine;
+    }
+    
+    public int getUserOverdueLoans() {
+        return userOverdueLoans;
+    }
+    
+    public void setUserOverdueLoans(int userOverdueLoans) {
+        this.userOverdueLoans = userOverdueLoans;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("FineReportEntry{transactionId=%d, userId=%d, bookId=%d, overdueDays=%d, fine=%.2f, userTotalFine=%.2f}",
+                           transactionId, userId, bookId, overdueDays, fine, userTotalFine);
+    }
+}
@@ -0,0 +1,55 @@
+package dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ImportReport {
+    private int rowsRead;
+    private int imported;
+    private long elapsedMillis;
+    private final List<String> rejects = new ArrayList<>();
+    
+    public ImportReport() {}
+    
+    public int getRowsRead() {
+        return rowsRead;
+    }
+    
+    public void incrementRowsRead() {
+        rowsRead++;
+    }
+    
+    public int getImported() {
+        return imported;
+    }
+    
+    public void addImported(int count) {
+        imported += count;
+    }
+    
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+    
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+    
+    public List<String> getRejects() {
+        return rejects;
+    }
+    
+    public void reject(int lineNumber, String reason) {
+        rejects.add("Line " + lineNumber + ": " + reason);
+    }
+    
+    public double getRowsPerSecond() {
+        return elapsedMillis > 0 ? rowsRead * 1000.0 / elapsedMillis : rowsRead;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("ImportReport{read=%d, imported=%d, rejected=%d, elapsed=%dms}",
+                           rowsRead, imported, rejects.size(), elapsedMillis);
+    }
+}
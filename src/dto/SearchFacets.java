@@ -0,0 +1,61 @@
+package dto;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+public class SearchFacets {
+    private final Map<String, Integer> categoryCounts = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    private final Map<Integer, Integer> floorCounts = new TreeMap<>();
+    private int availableCount;
+    private int unavailableCount;
+    
+    public SearchFacets() {}
+    
+    public Map<String, Integer> getCategoryCounts() {
+        return categoryCounts;
+    }
+    
+    public Map<Integer, Integer> getFloorCounts() {
+        return floorCounts;
+    }
+    
+    public int getAvailableCount() {
+        return availableCount;
+    }
+    
+    public int getUnavailableCount() {
+        return unavailableCount;
+    }
+    
+    public int getTotalCount() {
+        return availableCount + unavailableCount;
+    }
+    
+    public void addCategory(String category, int count) {
+        categoryCounts.merge(category != null ? category : "", count, Integer::sum);
+    }
+    
+    public void addFloor(int floor, int count) {
+        floorCounts.merge(floor, count, Integer::sum);
+    }
+    
+    public void addAvailability(boolean available, int count) {
+        if (available) {
+            availableCount += count;
+        } else {
+            unavailableCount += count;
+        }
+    }
+    
+    public void add(Book book) {
+        addCategory(book.getCategory(), 1);
+        addFloor(book.getFloor(), 1);
+        addAvailability(book.isAvailable(), 1);
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("SearchFacets{categories=%s, floors=%s, available=%d, unavailable=%d}",
+                           categoryCounts, floorCounts, availableCount, unavailableCount);
+    }
+}
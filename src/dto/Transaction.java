@@ -10,14 +10,15 @@ public class Transaction {
     private int bookId;
     private String status;
     private Date issueDate;
+    private LocalDate dueDate;
     private Date returnDate;
 
     private String userName;
     private String bookTitle;
     private String bookAuthor;
 
-    private static final int RETURN_PERIOD_DAYS = 7;
-    private static final double FINE_PER_DAY = 10.0;
+    public static final int RETURN_PERIOD_DAYS = 7;
+    public static final double FINE_PER_DAY = 10.0;
 
     public Transaction() {}
 
@@ -67,6 +68,7 @@ public class Transaction {
 
     public void setIssueDate(Date issueDate) {
         this.issueDate = issueDate;
+        this.dueDate = null;
     }
 
     public Date getReturnDate() {
@@ -128,49 +130,46 @@ public class Transaction {
 
 
     public LocalDate getDueDate() {
-        if (issueDate == null) return null;
-        return issueDate.toLocalDate().plusDays(RETURN_PERIOD_DAYS);
+        if (dueDate == null && issueDate != null) {
+            dueDate = issueDate.toLocalDate().plusDays(RETURN_PERIOD_DAYS);
+        }
+        return dueDate;
     }
 
 
-    public boolean isOverdue() {
-        if (issueDate == null || !isActive()) return false;
-        return LocalDate.now().isAfter(getDueDate());
+    public boolean isOverdue(LocalDate today) {
+        return getOverdueDays(today) > 0;
     }
 
 
-    public long getOverdueDays() {
-        if (!isOverdue()) return 0;
-        return ChronoUnit.DAYS.between(getDueDate(), LocalDate.now());
+    public long getOverdueDays(LocalDate today) {
+        LocalDate due = isActive() ? getDueDate() : null;
+        if (due == null || !today.isAfter(due)) return 0;
+        return ChronoUnit.DAYS.between(due, today);
     }
 
 
-    public double calculateFine() {
-        long overdueDays = getOverdueDays();
-        return overdueDays > 0 ? overdueDays * FINE_PER_DAY : 0.0;
+    public double calculateFine(LocalDate today) {
+        return getOverdueDays(today) * FINE_PER_DAY;
     }
 
 
-    public String getFineStatus() {
-        if (!isActive()) return "N/A";
+    public String getFineStatus(LocalDate today) {
+        LocalDate due = isActive() ? getDueDate() : null;
+        if (due == null) return "N/A";
 
-        double fine = calculateFine();
-        if (fine == 0) {
-            long daysLeft = ChronoUnit.DAYS.between(LocalDate.now(), getDueDate());
-            if (daysLeft >= 0) {
-                return "No fine (" + daysLeft + " days left)";
-            } else {
-                return "No fine (due today)";
-            }
-        } else {
-            return "₹" + String.format("%.2f", fine) + " (" + getOverdueDays() + " days overdue)";
+        long daysLeft = ChronoUnit.DAYS.between(today, due);
+        if (daysLeft >= 0) {
+            return "No fine (" + daysLeft + " days left)";
         }
+        return "₹" + String.format("%.2f", -daysLeft * FINE_PER_DAY) + " (" + -daysLeft + " days overdue)";
     }
 
 
-    public long getDaysUntilDue() {
-        if (issueDate == null || !isActive()) return 0;
-        return ChronoUnit.DAYS.between(LocalDate.now(), getDueDate());
+    public long getDaysUntilDue(LocalDate today) {
+        LocalDate due = isActive() ? getDueDate() : null;
+        if (due == null) return 0;
+        return ChronoUnit.DAYS.between(today, due);
     }
 
     @Override
@@ -189,11 +188,11 @@ public class Transaction {
     }
 
 
-    public String getDetailedDisplayInfo() {
+    public String getDetailedDisplayInfo(LocalDate today) {
         String returnInfo = returnDate != null ? returnDate.toString() : "Not Returned";
         String userInfo = userName != null ? userName : "User ID: " + userId;
         String bookInfo = bookTitle != null ? bookTitle : "Book ID: " + bookId;
-        String fineInfo = isActive() ? getFineStatus() : "N/A";
+        String fineInfo = isActive() ? getFineStatus(today) : "N/A";
 
         return String.format("ID: %-3d | User: %-20s | Book: %-25s | Status: %-8s | Issue: %s | Return: %s | Fine: %s",
                 id, userInfo, bookInfo, status, issueDate, returnInfo, fineInfo);
@@ -0,0 +1,286 @@
+package search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+
+public class AutocompleteTrie {
+    public static final String TYPE_TITLE = "TITLE";
+    public static final String TYPE_AUTHOR = "AUTHOR";
+
+    private static final char[] NO_KEYS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    private final String type;
+    private Node root = new Node("");
+
+    public AutocompleteTrie(String type) {
+        this.type = type;
+    }
+
+
+    public void put(String phrase, int documentId, int score) {
+        String key = normalizeKey(phrase);
+        if (key.isEmpty()) {
+            return;
+        }
+
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        int position = 0;
+        while (position < key.length()) {
+            char c = key.charAt(position);
+            Node child = node.getChild(c);
+            if (child == null) {
+                child = new Node(key.substring(position));
+                node.addChild(child);
+                position = key.length();
+            } else {
+                int common = commonPrefixLength(child.label, key, position);
+                if (common < child.label.length()) {
+                    Node split = new Node(child.label.substring(0, common));
+                    child.label = child.label.substring(common);
+                    split.addChild(child);
+                    split.recalculateMaxScore();
+                    node.replaceChild(c, split);
+                    child = split;
+                }
+                position += common;
+            }
+            node = child;
+            path.add(node);
+        }
+
+        if (node.entry == null) {
+            node.entry = new Entry(phrase.trim());
+        }
+        node.entry.scores.put(documentId, Math.max(0, score));
+        node.entry.recalculate();
+
+        for (int i = path.size() - 1; i >= 0; i--) {
+            path.get(i).recalculateMaxScore();
+        }
+    }
+
+
+    public void remove(String phrase, int documentId) {
+        String key = normalizeKey(phrase);
+        if (key.isEmpty()) {
+            return;
+        }
+
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        int position = 0;
+        while (position < key.length()) {
+            node = node.getChild(key.charAt(position));
+            if (node == null || !key.startsWith(node.label, position)) {
+                return;
+            }
+            position += node.label.length();
+            path.add(node);
+        }
+
+        if (node.entry == null || node.entry.scores.remove(documentId) == null) {
+            return;
+        }
+        if (node.entry.scores.isEmpty()) {
+            node.entry = null;
+        } else {
+            node.entry.recalculate();
+        }
+
+        for (int i = path.size() - 1; i > 0; i--) {
+            Node current = path.get(i);
+            Node parent = path.get(i - 1);
+            if (current.entry == null && current.children.length == 0) {
+                parent.removeChild(current.label.charAt(0));
+            } else if (current.entry == null && current.children.length == 1) {
+                Node only = current.children[0];
+                only.label = current.label + only.label;
+                parent.replaceChild(current.label.charAt(0), only);
+            } else {
+                current.recalculateMaxScore();
+            }
+        }
+        root.recalculateMaxScore();
+    }
+
+
+    public void clear() {
+        root = new Node("");
+    }
+
+
+    public List<Completion> complete(String prefix, int limit) {
+        List<Completion> completions = new ArrayList<>();
+        String key = normalizeKey(prefix);
+        if (key.isEmpty() || limit <= 0) {
+            return completions;
+        }
+
+        Node node = root;
+        int position = 0;
+        while (position < key.length()) {
+            node = node.getChild(key.charAt(position));
+            if (node == null) {
+                return completions;
+            }
+
+            int remaining = key.length() - position;
+            if (remaining <= node.label.length()) {
+                if (!node.label.startsWith(key.substring(position))) {
+                    return completions;
+                }
+                break;
+            }
+            if (!key.startsWith(node.label, position)) {
+                return completions;
+            }
+            position += node.label.length();
+        }
+
+        PriorityQueue<Candidate> frontier = new PriorityQueue<>();
+        frontier.add(new Candidate(node, null, node.maxScore));
+        while (!frontier.isEmpty() && completions.size() < limit) {
+            Candidate candidate = frontier.poll();
+            if (candidate.entry != null) {
+                Entry entry = candidate.entry;
+                completions.add(new Completion(entry.display, type, entry.totalScore, entry.scores.size()));
+                continue;
+            }
+
+            Node current = candidate.node;
+            if (current.entry != null) {
+                frontier.add(new Candidate(null, current.entry, current.entry.totalScore));
+            }
+            for (Node child : current.children) {
+                frontier.add(new Candidate(child, null, child.maxScore));
+            }
+        }
+        return completions;
+    }
+
+
+    private static int commonPrefixLength(String label, String key, int offset) {
+        int max = Math.min(label.length(), key.length() - offset);
+        int length = 0;
+        while (length < max && label.charAt(length) == key.charAt(offset + length)) {
+            length++;
+        }
+        return length;
+    }
+
+
+    private static String normalizeKey(String phrase) {
+        return Tokenizer.normalize(phrase).trim().replaceAll("\\s+", " ");
+    }
+
+
+    private static class Node {
+        private String label;
+        private char[] keys = NO_KEYS;
+        private Node[] children = NO_CHILDREN;
+        private Entry entry;
+        private int maxScore;
+
+        Node(String label) {
+            this.label = label;
+        }
+
+        Node getChild(char c) {
+            int position = Arrays.binarySearch(keys, c);
+            return position >= 0 ? children[position] : null;
+        }
+
+        void addChild(Node child) {
+            char c = child.label.charAt(0);
+            int insertAt = -Arrays.binarySearch(keys, c) - 1;
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, insertAt);
+            System.arraycopy(children, 0, newChildren, 0, insertAt);
+            newKeys[insertAt] = c;
+            newChildren[insertAt] = child;
+            System.arraycopy(keys, insertAt, newKeys, insertAt + 1, keys.length - insertAt);
+            System.arraycopy(children, insertAt, newChildren, insertAt + 1, children.length - insertAt);
+            keys = newKeys;
+            children = newChildren;
+        }
+
+        void replaceChild(char c, Node child) {
+            children[Arrays.binarySearch(keys, c)] = child;
+        }
+
+        void removeChild(char c) {
+            int position = Arrays.binarySearch(keys, c);
+            if (position < 0) {
+                return;
+            }
+
+            char[] newKeys = new char[keys.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(keys, 0, newKeys, 0, position);
+            System.arraycopy(children, 0, newChildren, 0, position);
+            System.arraycopy(keys, position + 1, newKeys, position, keys.length - position - 1);
+            System.arraycopy(children, position + 1, newChildren, position, children.length - position - 1);
+            keys = newKeys.length == 0 ? NO_KEYS : newKeys;
+            children = newChildren.length == 0 ? NO_CHILDREN : newChildren;
+        }
+
+        void recalculateMaxScore() {
+            int best = entry != null ? entry.totalScore : -1;
+            for (Node child : children) {
+                best = Math.max(best, child.maxScore);
+            }
+            maxScore = best;
+        }
+    }
+
+
+    private static class Entry {
+        private final String display;
+        private final Map<Integer, Integer> scores = new HashMap<>();
+        private int totalScore;
+
+        Entry(String display) {
+            this.display = display;
+        }
+
+        void recalculate() {
+            int total = 0;
+            for (int score : scores.values()) {
+                total += score;
+            }
+            totalScore = total;
+        }
+    }
+
+
+    private static class Candidate implements Comparable<Candidate> {
+        private final Node node;
+        private final Entry entry;
+        private final int score;
+
+        Candidate(Node node, Entry entry, int score) {
+            this.node = node;
+            this.entry = entry;
+            this.score = score;
+        }
+
+        @Override
+        public int compareTo(Candidate other) {
+            int byScore = Integer.compare(other.score, score);
+            if (byScore != 0) {
+                return byScore;
+            }
+            return Boolean.compare(other.entry != null, entry != null);
+        }
+    }
+}
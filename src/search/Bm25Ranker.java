@@ -0,0 +1,159 @@
+package search;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+
+public class Bm25Ranker {
+    public static final int FIELD_TITLE = 0;
+    public static final int FIELD_AUTHOR = 1;
+    public static final int FIELD_CATEGORY = 2;
+    private static final int FIELD_COUNT = 3;
+
+    private final double[] fieldWeights;
+    private final double k1;
+    private final double b;
+
+    private final Map<Integer, String[][]> documentFields = new HashMap<>();
+    private final long[] totalFieldLengths = new long[FIELD_COUNT];
+
+    public Bm25Ranker(double titleWeight, double authorWeight, double categoryWeight, double k1, double b) {
+        this.fieldWeights = new double[] {titleWeight, authorWeight, categoryWeight};
+        this.k1 = k1;
+        this.b = b;
+    }
+
+
+    public void add(int documentId, List<String> titleTerms, List<String> authorTerms, List<String> categoryTerms) {
+        remove(documentId);
+
+        String[][] fields = new String[FIELD_COUNT][];
+        fields[FIELD_TITLE] = titleTerms.toArray(new String[0]);
+        fields[FIELD_AUTHOR] = authorTerms.toArray(new String[0]);
+        fields[FIELD_CATEGORY] = categoryTerms.toArray(new String[0]);
+        documentFields.put(documentId, fields);
+
+        for (int field = 0; field < FIELD_COUNT; field++) {
+            totalFieldLengths[field] += fields[field].length;
+        }
+    }
+
+
+    public void remove(int documentId) {
+        String[][] fields = documentFields.remove(documentId);
+        if (fields == null) {
+            return;
+        }
+
+        for (int field = 0; field < FIELD_COUNT; field++) {
+            totalFieldLengths[field] -= fields[field].length;
+        }
+    }
+
+
+    public void clear() {
+        documentFields.clear();
+        for (int field = 0; field < FIELD_COUNT; field++) {
+            totalFieldLengths[field] = 0;
+        }
+    }
+
+
+    public List<Integer> topK(Collection<String> queryTerms, InvertedIndex postings, int limit) {
+        if (queryTerms.isEmpty() || documentFields.isEmpty() || limit <= 0) {
+            return new ArrayList<>();
+        }
+
+        int documentCount = documentFields.size();
+        Map<String, Double> idf = new HashMap<>();
+        Set<Integer> candidates = new HashSet<>();
+        for (String term : queryTerms) {
+            Set<Integer> documents = postings.find(term);
+            if (documents.isEmpty()) {
+                continue;
+            }
+            double df = documents.size();
+            idf.put(term, Math.log(1 + (documentCount - df + 0.5) / (df + 0.5)));
+            candidates.addAll(documents);
+        }
+
+        double[] averageLengths = new double[FIELD_COUNT];
+        for (int field = 0; field < FIELD_COUNT; field++) {
+            averageLengths[field] = Math.max(1.0, (double) totalFieldLengths[field] / documentCount);
+        }
+
+        PriorityQueue<ScoredDocument> heap = new PriorityQueue<>(limit + 1);
+        for (int documentId : candidates) {
+            String[][] fields = documentFields.get(documentId);
+            if (fields == null) {
+                continue;
+            }
+
+            double score = score(fields, idf, averageLengths);
+            if (heap.size() < limit) {
+                heap.add(new ScoredDocument(documentId, score));
+            } else if (score > heap.peek().score) {
+                heap.poll();
+                heap.add(new ScoredDocument(documentId, score));
+            }
+        }
+
+        List<ScoredDocument> ranked = new ArrayList<>(heap);
+        Collections.sort(ranked, Collections.reverseOrder());
+        List<Integer> result = new ArrayList<>(ranked.size());
+        for (ScoredDocument document : ranked) {
+            result.add(document.documentId);
+        }
+        return result;
+    }
+
+
+    private double score(String[][] fields, Map<String, Double> idf, double[] averageLengths) {
+        double score = 0.0;
+        for (Map.Entry<String, Double> entry : idf.entrySet()) {
+            String term = entry.getKey();
+            double weightedFrequency = 0.0;
+            for (int field = 0; field < FIELD_COUNT; field++) {
+                int frequency = 0;
+                for (String fieldTerm : fields[field]) {
+                    if (fieldTerm.equals(term)) {
+                        frequency++;
+                    }
+                }
+                if (frequency > 0) {
+                    double lengthNorm = 1 - b + b * fields[field].length / averageLengths[field];
+                    weightedFrequency += fieldWeights[field] * frequency / lengthNorm;
+                }
+            }
+
+            if (weightedFrequency > 0) {
+                score += entry.getValue() * weightedFrequency / (k1 + weightedFrequency);
+            }
+        }
+        return score;
+    }
+
+
+    private static class ScoredDocument implements Comparable<ScoredDocument> {
+        private final int documentId;
+        private final double score;
+
+        ScoredDocument(int documentId, double score) {
+            this.documentId = documentId;
+            this.score = score;
+        }
+
+        @Override
+        public int compareTo(ScoredDocument other) {
+            int byScore = Double.compare(score, other.score);
+            return byScore != 0 ? byScore : Integer.compare(other.documentId, documentId);
+        }
+    }
+}
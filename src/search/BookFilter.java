@@ -0,0 +1,41 @@
+package search;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+
+public class BookFilter {
+    private final Set<String> categories = new LinkedHashSet<>();
+    private final Set<Integer> floors = new LinkedHashSet<>();
+    private boolean availableOnly;
+
+
+    public void addCategory(String category) {
+        categories.add(Tokenizer.normalize(category != null ? category.trim() : ""));
+    }
+
+
+    public void addFloor(int floor) {
+        floors.add(floor);
+    }
+
+
+    public void setAvailableOnly(boolean availableOnly) {
+        this.availableOnly = availableOnly;
+    }
+
+
+    public Set<String> getCategories() {
+        return categories;
+    }
+
+
+    public Set<Integer> getFloors() {
+        return floors;
+    }
+
+
+    public boolean isAvailableOnly() {
+        return availableOnly;
+    }
+}
@@ -0,0 +1,493 @@
+package search;
+
+import dto.Book;
+import dto.FacetedSearchResult;
+import dto.SearchFacets;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+
+public class CatalogIndex {
+    private static CatalogIndex instance;
+
+    private static final Comparator<Book> TITLE_ORDER =
+            Comparator.comparing(Book::getTitle, Comparator.nullsFirst(Comparator.naturalOrder()))
+                    .thenComparingInt(Book::getId);
+
+    private static final int TERM_TREE_SLACK = 1024;
+    private static final int MAX_PREFIX_EXPANSIONS = 50;
+
+    private static final double TITLE_WEIGHT = 3.0;
+    private static final double AUTHOR_WEIGHT = 2.0;
+    private static final double CATEGORY_WEIGHT = 1.0;
+    private static final double BM25_K1 = 1.2;
+    private static final double BM25_B = 0.75;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Integer, Book> books = new HashMap<>();
+    private final InvertedIndex tokenIndex = new InvertedIndex();
+    private final BkTree termTree = new BkTree();
+    private final Bm25Ranker ranker = new Bm25Ranker(TITLE_WEIGHT, AUTHOR_WEIGHT, CATEGORY_WEIGHT, BM25_K1, BM25_B);
+    private final TrigramIndex titleTrigrams = new TrigramIndex();
+    private final TrigramIndex authorTrigrams = new TrigramIndex();
+    private final AutocompleteTrie titleCompletions = new AutocompleteTrie(AutocompleteTrie.TYPE_TITLE);
+    private final AutocompleteTrie authorCompletions = new AutocompleteTrie(AutocompleteTrie.TYPE_AUTHOR);
+    private final RoaringBitmap allBooks = new RoaringBitmap();
+    private final RoaringBitmap availableBooks = new RoaringBitmap();
+    private final Map<String, RoaringBitmap> categoryBitmaps = new HashMap<>();
+    private final Map<Integer, RoaringBitmap> floorBitmaps = new HashMap<>();
+    private final AtomicLong version = new AtomicLong();
+    private volatile boolean loaded;
+
+    private CatalogIndex() {}
+
+
+    public static CatalogIndex getInstance() {
+        if (instance == null) {
+            synchronized (CatalogIndex.class) {
+                if (instance == null) {
+                    instance = new CatalogIndex();
+                }
+            }
+        }
+        return instance;
+    }
+
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+
+    public long getVersion() {
+        return version.get();
+    }
+
+
+    public void rebuild(Iterator<Book> source) {
+        lock.writeLock().lock();
+        try {
+            loaded = false;
+            books.clear();
+            tokenIndex.clear();
+            termTree.clear();
+            ranker.clear();
+            titleTrigrams.clear();
+            authorTrigrams.clear();
+            titleCompletions.clear();
+            authorCompletions.clear();
+            allBooks.clear();
+            availableBooks.clear();
+            categoryBitmaps.clear();
+            floorBitmaps.clear();
+
+            while (source.hasNext()) {
+                indexBook(new Book(source.next()));
+            }
+            loaded = true;
+        } finally {
+            version.incrementAndGet();
+            lock.writeLock().unlock();
+        }
+    }
+
+
+    public void invalidate() {
+        loaded = false;
+        version.incrementAndGet();
+    }
+
+
+    public void addOrUpdate(Book book) {
+        if (!loaded || book == null || book.getId() <= 0) {
+            version.incrementAndGet();
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            indexBook(new Book(book));
+        } finally {
+            version.incrementAndGet();
+            lock.writeLock().unlock();
+        }
+    }
+
+
+    public void remove(int bookId) {
+        if (!loaded) {
+            version.incrementAndGet();
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            unindexBook(bookId);
+        } finally {
+            version.incrementAndGet();
+            lock.writeLock().unlock();
+        }
+    }
+
+
+    public void updateQuantity(int bookId, int quantity) {
+        if (!loaded) {
+            version.incrementAndGet();
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            Book book = books.get(bookId);
+            if (book != null) {
+                book.setQuantity(quantity);
+                updateCompletionScores(book);
+                updateAvailability(book);
+            }
+        } finally {
+            version.incrementAndGet();
+            lock.writeLock().unlock();
+        }
+    }
+
+
+    public void adjustQuantity(int bookId, int delta) {
+        if (!loaded) {
+            version.incrementAndGet();
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            Book book = books.get(bookId);
+            if (book != null) {
+                book.setQuantity(Math.max(0, book.getQuantity() + delta));
+                updateCompletionScores(book);
+                updateAvailability(book);
+            }
+        } finally {
+            version.incrementAndGet();
+            lock.writeLock().unlock();
+        }
+    }
+
+
+    public FacetedSearchResult facetedSearch(String searchTerm, String category) {
+        List<String> terms = Tokenizer.tokenize(searchTerm);
+        SearchFacets facets = new SearchFacets();
+        if (terms.isEmpty()) {
+            return new FacetedSearchResult(new ArrayList<>(), facets);
+        }
+
+        lock.readLock().lock();
+        try {
+            List<Book> result = new ArrayList<>();
+            for (int bookId : tokenIndex.findAllByPrefix(terms)) {
+                Book book = books.get(bookId);
+                if (book == null) {
+                    continue;
+                }
+
+                facets.add(book);
+                if (category == null || category.equalsIgnoreCase(book.getCategory())) {
+                    result.add(new Book(book));
+                }
+            }
+            result.sort(TITLE_ORDER);
+            return new FacetedSearchResult(result, facets);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+
+    public List<Book> rankedSearch(String searchTerm, int limit) {
+        List<String> terms = Tokenizer.tokenize(searchTerm);
+        if (terms.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        lock.readLock().lock();
+        try {
+            List<Book> result = new ArrayList<>();
+            for (int bookId : ranker.topK(expandQueryTerms(terms), tokenIndex, limit)) {
+                Book book = books.get(bookId);
+                if (book != null) {
+                    result.add(new Book(book));
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+
+    public int rankedMatchCount(String searchTerm) {
+        List<String> terms = Tokenizer.tokenize(searchTerm);
+        if (terms.isEmpty()) {
+            return 0;
+        }
+
+        lock.readLock().lock();
+        try {
+            Set<Integer> matches = new HashSet<>();
+            for (String term : expandQueryTerms(terms)) {
+                matches.addAll(tokenIndex.find(term));
+            }
+            return matches.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+
+    private Set<String> expandQueryTerms(List<String> terms) {
+        Set<String> queryTerms = new LinkedHashSet<>();
+        for (String term : terms) {
+            if (!tokenIndex.find(term).isEmpty()) {
+                queryTerms.add(term);
+            } else {
+                queryTerms.addAll(tokenIndex.termsWithPrefix(term, MAX_PREFIX_EXPANSIONS));
+            }
+        }
+        return queryTerms;
+    }
+
+
+    public List<Book> fuzzySearch(String searchTerm) {
+        List<String> terms = Tokenizer.tokenize(searchTerm);
+        if (terms.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<Integer, Integer> distances = null;
+            for (String term : terms) {
+                Map<Integer, Integer> termDistances = new HashMap<>();
+                for (BkTree.Match match : termTree.search(term, maxEditsFor(term))) {
+                    for (int bookId : tokenIndex.find(match.getTerm())) {
+                        termDistances.merge(bookId, match.getDistance(), Math::min);
+                    }
+                }
+
+                if (distances == null) {
+                    distances = termDistances;
+                } else {
+                    Map<Integer, Integer> combined = new HashMap<>();
+                    for (Map.Entry<Integer, Integer> entry : termDistances.entrySet()) {
+                        Integer previous = distances.get(entry.getKey());
+                        if (previous != null) {
+                            combined.put(entry.getKey(), previous + entry.getValue());
+                        }
+                    }
+                    distances = combined;
+                }
+
+                if (distances.isEmpty()) {
+                    break;
+                }
+            }
+
+            Map<Integer, Integer> bestDistances = distances;
+            List<Book> result = toSortedBooks(bestDistances.keySet());
+            result.sort(Comparator.comparingInt((Book book) -> bestDistances.get(book.getId())).thenComparing(TITLE_ORDER));
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+
+    public List<Book> searchByTitle(String title) {
+        lock.readLock().lock();
+        try {
+            return toSortedBooks(titleTrigrams.search(title));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+
+    public List<Book> searchByAuthor(String author) {
+        lock.readLock().lock();
+        try {
+            return toSortedBooks(authorTrigrams.search(author));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+
+    public List<Book> filter(BookFilter filter) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap matches = allBooks;
+            if (!filter.getCategories().isEmpty()) {
+                RoaringBitmap categories = new RoaringBitmap();
+                for (String category : filter.getCategories()) {
+                    RoaringBitmap bitmap = categoryBitmaps.get(category);
+                    if (bitmap != null) {
+                        categories = RoaringBitmap.or(categories, bitmap);
+                    }
+                }
+                matches = RoaringBitmap.and(matches, categories);
+            }
+            if (!filter.getFloors().isEmpty()) {
+                RoaringBitmap floors = new RoaringBitmap();
+                for (int floor : filter.getFloors()) {
+                    RoaringBitmap bitmap = floorBitmaps.get(floor);
+                    if (bitmap != null) {
+                        floors = RoaringBitmap.or(floors, bitmap);
+                    }
+                }
+                matches = RoaringBitmap.and(matches, floors);
+            }
+            if (filter.isAvailableOnly()) {
+                matches = RoaringBitmap.and(matches, availableBooks);
+            }
+
+            List<Integer> bookIds = new ArrayList<>(matches.cardinality());
+            for (int bookId : matches.toArray()) {
+                bookIds.add(bookId);
+            }
+            return toSortedBooks(bookIds);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+
+    public List<Completion> complete(String prefix, int limit) {
+        lock.readLock().lock();
+        try {
+            List<Completion> completions = new ArrayList<>(titleCompletions.complete(prefix, limit));
+            completions.addAll(authorCompletions.complete(prefix, limit));
+            completions.sort(Comparator.comparingInt(Completion::getScore).reversed()
+                    .thenComparing(Completion::getText));
+            return completions.size() > limit ? new ArrayList<>(completions.subList(0, limit)) : completions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return books.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+
+    private void indexBook(Book book) {
+        unindexBook(book.getId());
+        books.put(book.getId(), book);
+
+        List<String> titleTerms = Tokenizer.tokenize(book.getTitle());
+        List<String> authorTerms = Tokenizer.tokenize(book.getAuthor());
+        List<String> categoryTerms = Tokenizer.tokenize(book.getCategory());
+
+        List<String> terms = new ArrayList<>(titleTerms);
+        terms.addAll(authorTerms);
+        terms.addAll(categoryTerms);
+        tokenIndex.add(book.getId(), terms);
+        ranker.add(book.getId(), titleTerms, authorTerms, categoryTerms);
+        for (String term : terms) {
+            termTree.add(term);
+        }
+        titleTrigrams.add(book.getId(), book.getTitle());
+        authorTrigrams.add(book.getId(), book.getAuthor());
+        updateCompletionScores(book);
+
+        allBooks.add(book.getId());
+        categoryBitmaps.computeIfAbsent(Tokenizer.normalize(book.getCategory()), key -> new RoaringBitmap()).add(book.getId());
+        floorBitmaps.computeIfAbsent(book.getFloor(), key -> new RoaringBitmap()).add(book.getId());
+        updateAvailability(book);
+    }
+
+
+    private void updateAvailability(Book book) {
+        if (book.isAvailable()) {
+            availableBooks.add(book.getId());
+        } else {
+            availableBooks.remove(book.getId());
+        }
+    }
+
+
+    private static <K> void removeFromBitmap(Map<K, RoaringBitmap> bitmaps, K key, int bookId) {
+        RoaringBitmap bitmap = bitmaps.get(key);
+        if (bitmap != null) {
+            bitmap.remove(bookId);
+            if (bitmap.isEmpty()) {
+                bitmaps.remove(key);
+            }
+        }
+    }
+
+
+    private void updateCompletionScores(Book book) {
+        titleCompletions.put(book.getTitle(), book.getId(), book.getQuantity());
+        authorCompletions.put(book.getAuthor(), book.getId(), book.getQuantity());
+    }
+
+
+    private void unindexBook(int bookId) {
+        Book removed = books.remove(bookId);
+        if (removed != null) {
+            tokenIndex.remove(bookId);
+            ranker.remove(bookId);
+            titleTrigrams.remove(bookId);
+            authorTrigrams.remove(bookId);
+            titleCompletions.remove(removed.getTitle(), bookId);
+            authorCompletions.remove(removed.getAuthor(), bookId);
+            allBooks.remove(bookId);
+            availableBooks.remove(bookId);
+            removeFromBitmap(categoryBitmaps, Tokenizer.normalize(removed.getCategory()), bookId);
+            removeFromBitmap(floorBitmaps, removed.getFloor(), bookId);
+
+            if (termTree.size() > 2 * tokenIndex.getTermCount() + TERM_TREE_SLACK) {
+                termTree.clear();
+                for (String term : tokenIndex.terms()) {
+                    termTree.add(term);
+                }
+            }
+        }
+    }
+
+
+    private static int maxEditsFor(String term) {
+        if (term.length() <= 3) {
+            return 0;
+        }
+        return term.length() <= 6 ? 1 : 2;
+    }
+
+
+    private List<Book> toSortedBooks(Collection<Integer> bookIds) {
+        List<Book> result = new ArrayList<>(bookIds.size());
+        for (Integer bookId : bookIds) {
+            Book book = books.get(bookId);
+            if (book != null) {
+                result.add(new Book(book));
+            }
+        }
+        result.sort(TITLE_ORDER);
+        return result;
+    }
+}
@@ -0,0 +1,40 @@
+package search;
+
+public class Completion {
+    private final String text;
+    private final String type;
+    private final int score;
+    private final int bookCount;
+
+    public Completion(String text, String type, int score, int bookCount) {
+        this.text = text;
+        this.type = type;
+        this.score = score;
+        this.bookCount = bookCount;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public int getBookCount() {
+        return bookCount;
+    }
+
+    public boolean isTitle() {
+        return AutocompleteTrie.TYPE_TITLE.equals(type);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Completion{text='%s', type=%s, score=%d, books=%d}", text, type, score, bookCount);
+    }
+}
@@ -0,0 +1,108 @@
+package search;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+
+public class InvertedIndex {
+    private final TreeMap<String, Set<Integer>> postings = new TreeMap<>();
+    private final Map<Integer, Set<String>> documentTerms = new HashMap<>();
+
+
+    public void add(int documentId, Collection<String> terms) {
+        remove(documentId);
+
+        Set<String> uniqueTerms = new HashSet<>(terms);
+        for (String term : uniqueTerms) {
+            postings.computeIfAbsent(term, key -> new HashSet<>()).add(documentId);
+        }
+        documentTerms.put(documentId, uniqueTerms);
+    }
+
+
+    public void remove(int documentId) {
+        Set<String> terms = documentTerms.remove(documentId);
+        if (terms == null) {
+            return;
+        }
+
+        for (String term : terms) {
+            Set<Integer> documents = postings.get(term);
+            if (documents != null) {
+                documents.remove(documentId);
+                if (documents.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+
+    public void clear() {
+        postings.clear();
+        documentTerms.clear();
+    }
+
+
+    public Set<Integer> find(String term) {
+        Set<Integer> documents = postings.get(term);
+        return documents != null ? documents : Collections.emptySet();
+    }
+
+
+    public Set<String> terms() {
+        return Collections.unmodifiableSet(postings.keySet());
+    }
+
+
+    public List<String> termsWithPrefix(String prefix, int limit) {
+        List<String> terms = new ArrayList<>();
+        for (String term : postings.subMap(prefix, prefix + Character.MAX_VALUE).keySet()) {
+            if (terms.size() >= limit) {
+                break;
+            }
+            terms.add(term);
+        }
+        return terms;
+    }
+
+
+    public Set<Integer> findByPrefix(String prefix) {
+        Set<Integer> documents = new HashSet<>();
+        SortedMap<String, Set<Integer>> matches = postings.subMap(prefix, prefix + Character.MAX_VALUE);
+        for (Set<Integer> ids : matches.values()) {
+            documents.addAll(ids);
+        }
+        return documents;
+    }
+
+
+    public Set<Integer> findAllByPrefix(Collection<String> prefixes) {
+        Set<Integer> result = null;
+        for (String prefix : prefixes) {
+            Set<Integer> documents = findByPrefix(prefix);
+            if (result == null) {
+                result = documents;
+            } else {
+                result.retainAll(documents);
+            }
+            if (result.isEmpty()) {
+                break;
+            }
+        }
+        return result != null ? result : new HashSet<>();
+    }
+
+
+    public int getTermCount() {
+        return postings.size();
+    }
+}
@@ -0,0 +1,188 @@
+package search;
+
+import java.util.Arrays;
+
+
+public class PostingList {
+    private static final int[] EMPTY = new int[0];
+    private static final int SKIP_INTERVAL = 64;
+
+    private byte[] data = new byte[8];
+    private int length;
+    private int size;
+    private int lastId = -1;
+    private int[] skipIds = new int[1];
+    private int[] skipOffsets = new int[1];
+    private int skipCount;
+
+
+    public void add(int id) {
+        if (id > lastId) {
+            append(id);
+            return;
+        }
+
+        int[] ids = toArray();
+        int position = Arrays.binarySearch(ids, id);
+        if (position >= 0) {
+            return;
+        }
+
+        int insertAt = -position - 1;
+        int[] updated = new int[ids.length + 1];
+        System.arraycopy(ids, 0, updated, 0, insertAt);
+        updated[insertAt] = id;
+        System.arraycopy(ids, insertAt, updated, insertAt + 1, ids.length - insertAt);
+        encode(updated, updated.length);
+    }
+
+
+    public boolean remove(int id) {
+        if (id > lastId) {
+            return false;
+        }
+
+        int[] ids = toArray();
+        int position = Arrays.binarySearch(ids, id);
+        if (position < 0) {
+            return false;
+        }
+
+        System.arraycopy(ids, position + 1, ids, position, ids.length - position - 1);
+        encode(ids, ids.length - 1);
+        return true;
+    }
+
+
+    public int size() {
+        return size;
+    }
+
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+
+    public int[] toArray() {
+        if (size == 0) {
+            return EMPTY;
+        }
+
+        int[] ids = new int[size];
+        int offset = 0;
+        int previous = 0;
+        for (int i = 0; i < size; i++) {
+            int delta = 0;
+            int shift = 0;
+            byte current;
+            do {
+                current = data[offset++];
+                delta |= (current & 0x7F) << shift;
+                shift += 7;
+            } while ((current & 0x80) != 0);
+
+            previous += delta;
+            ids[i] = previous;
+        }
+        return ids;
+    }
+
+
+    public int[] intersect(int[] sortedIds) {
+        if (size == 0 || sortedIds.length == 0) {
+            return EMPTY;
+        }
+
+        int[] result = new int[Math.min(sortedIds.length, size)];
+        int count = 0;
+        int offset = skipOffsets[0];
+        int previous = skipIds[0];
+        int decoded = 1;
+
+        for (int index = 0; index < sortedIds.length; index++) {
+            int target = sortedIds[index];
+            if (previous < target) {
+                int nextBlock = (decoded - 1) / SKIP_INTERVAL + 1;
+                if (nextBlock < skipCount && skipIds[nextBlock] <= target) {
+                    int block = Arrays.binarySearch(skipIds, nextBlock, skipCount, target);
+                    if (block < 0) {
+                        block = -block - 2;
+                    }
+                    previous = skipIds[block];
+                    offset = skipOffsets[block];
+                    decoded = block * SKIP_INTERVAL + 1;
+                }
+
+                while (previous < target && decoded < size) {
+                    int delta = 0;
+                    int shift = 0;
+                    byte current;
+                    do {
+                        current = data[offset++];
+                        delta |= (current & 0x7F) << shift;
+                        shift += 7;
+                    } while ((current & 0x80) != 0);
+                    previous += delta;
+                    decoded++;
+                }
+                if (previous < target) {
+                    break;
+                }
+            }
+
+            if (previous == target) {
+                result[count++] = target;
+            }
+        }
+        return count == result.length ? result : Arrays.copyOf(result, count);
+    }
+
+
+    private void append(int id) {
+        int delta = lastId < 0 ? id : id - lastId;
+        ensureCapacity(length + 5);
+        while ((delta & ~0x7F) != 0) {
+            data[length++] = (byte) ((delta & 0x7F) | 0x80);
+            delta >>>= 7;
+        }
+        data[length++] = (byte) delta;
+        lastId = id;
+        if (size % SKIP_INTERVAL == 0) {
+            addSkip(id, length);
+        }
+        size++;
+    }
+
+
+    private void encode(int[] ids, int count) {
+        data = new byte[Math.max(8, count * 2)];
+        length = 0;
+        size = 0;
+        lastId = -1;
+        skipIds = new int[Math.max(1, (count + SKIP_INTERVAL - 1) / SKIP_INTERVAL)];
+        skipOffsets = new int[skipIds.length];
+        skipCount = 0;
+        for (int i = 0; i < count; i++) {
+            append(ids[i]);
+        }
+    }
+
+
+    private void addSkip(int id, int offset) {
+        if (skipCount == skipIds.length) {
+            skipIds = Arrays.copyOf(skipIds, skipCount * 2);
+            skipOffsets = Arrays.copyOf(skipOffsets, skipCount * 2);
+        }
+        skipIds[skipCount] = id;
+        skipOffsets[skipCount] = offset;
+        skipCount++;
+    }
+
+
+    private void ensureCapacity(int required) {
+        if (required > data.length) {
+            data = Arrays.copyOf(data, Math.max(required, data.length * 2));
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package search;
+
+import dto.Book;
+import utils.CacheStats;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+
+public class SearchResultCache {
+    private static final long ENTRY_OVERHEAD_BYTES = 96;
+    private static final long BOOK_OVERHEAD_BYTES = 200;
+
+    private final int maxEntries;
+    private final long maxRetainedBytes;
+    private final long ttlMs;
+    private final LinkedHashMap<String, CachedResult> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long retainedBytes;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long expirations;
+
+    public SearchResultCache(int maxEntries, long maxRetainedBytes, long ttlMs) {
+        this.maxEntries = maxEntries;
+        this.maxRetainedBytes = maxRetainedBytes;
+        this.ttlMs = ttlMs;
+    }
+
+
+    public synchronized List<Book> get(String mode, String term, long catalogVersion) {
+        String key = key(mode, term);
+        CachedResult cached = entries.get(key);
+        if (cached == null) {
+            misses++;
+            return null;
+        }
+
+        if (cached.catalogVersion != catalogVersion || System.currentTimeMillis() >= cached.expiresAt) {
+            removeEntry(key);
+            expirations++;
+            misses++;
+            return null;
+        }
+
+        hits++;
+        return copyOf(cached.books);
+    }
+
+
+    public synchronized void put(String mode, String term, long catalogVersion, List<Book> books) {
+        String key = key(mode, term);
+        long size = ENTRY_OVERHEAD_BYTES + 2L * key.length();
+        for (Book book : books) {
+            size += estimateSize(book);
+        }
+        if (maxEntries <= 0 || size > maxRetainedBytes) {
+            return;
+        }
+
+        removeEntry(key);
+        entries.put(key, new CachedResult(copyOf(books), catalogVersion, System.currentTimeMillis() + ttlMs, size));
+        retainedBytes += size;
+
+        Iterator<Map.Entry<String, CachedResult>> eldest = entries.entrySet().iterator();
+        while ((entries.size() > maxEntries || retainedBytes > maxRetainedBytes) && eldest.hasNext()) {
+            CachedResult evicted = eldest.next().getValue();
+            eldest.remove();
+            retainedBytes -= evicted.retainedBytes;
+            evictions++;
+        }
+    }
+
+
+    public synchronized void clear() {
+        entries.clear();
+        retainedBytes = 0;
+    }
+
+
+    public synchronized long getRetainedBytes() {
+        return retainedBytes;
+    }
+
+
+    public synchronized CacheStats getStats() {
+        return new CacheStats(hits, misses, evictions, expirations, entries.size(), maxEntries);
+    }
+
+
+    public static String normalizeTerm(String mode, String term) {
+        String normalized = Tokenizer.normalize(term).trim();
+        return isTokenizedMode(mode) ? normalized.replaceAll("\\s+", " ") : normalized;
+    }
+
+
+    private static boolean isTokenizedMode(String mode) {
+        return mode.equals("fuzzy") || mode.startsWith("ranked:");
+    }
+
+
+    private static String key(String mode, String term) {
+        return mode + '\u0000' + normalizeTerm(mode, term);
+    }
+
+
+    private void removeEntry(String key) {
+        CachedResult removed = entries.remove(key);
+        if (removed != null) {
+            retainedBytes -= removed.retainedBytes;
+        }
+    }
+
+
+    private static long estimateSize(Book book) {
+        long characters = length(book.getTitle()) + length(book.getAuthor())
+                + length(book.getCategory()) + length(book.getShelve());
+        return BOOK_OVERHEAD_BYTES + 2 * characters;
+    }
+
+
+    private static int length(String value) {
+        return value != null ? value.length() : 0;
+    }
+
+
+    private static List<Book> copyOf(List<Book> books) {
+        List<Book> copy = new ArrayList<>(books.size());
+        for (Book book : books) {
+            copy.add(new Book(book));
+        }
+        return copy;
+    }
+
+
+    private static class CachedResult {
+        private final List<Book> books;
+        private final long catalogVersion;
+        private final long expiresAt;
+        private final long retainedBytes;
+
+        CachedResult(List<Book> books, long catalogVersion, long expiresAt, long retainedBytes) {
+            this.books = books;
+            this.catalogVersion = catalogVersion;
+            this.expiresAt = expiresAt;
+            this.retainedBytes = retainedBytes;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package search;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+
+public class TrigramIndex {
+    private final Map<Long, PostingList> postings = new HashMap<>();
+    private final Map<Integer, String> documents = new HashMap<>();
+
+
+    public void add(int documentId, String text) {
+        remove(documentId);
+
+        String normalized = Tokenizer.normalize(text);
+        documents.put(documentId, normalized);
+        for (long trigram : trigrams(normalized)) {
+            postings.computeIfAbsent(trigram, key -> new PostingList()).add(documentId);
+        }
+    }
+
+
+    public void remove(int documentId) {
+        String normalized = documents.remove(documentId);
+        if (normalized == null) {
+            return;
+        }
+
+        for (long trigram : trigrams(normalized)) {
+            PostingList list = postings.get(trigram);
+            if (list != null) {
+                list.remove(documentId);
+                if (list.isEmpty()) {
+                    postings.remove(trigram);
+                }
+            }
+        }
+    }
+
+
+    public void clear() {
+        postings.clear();
+        documents.clear();
+    }
+
+
+    public List<Integer> search(String query) {
+        String normalized = Tokenizer.normalize(query);
+        List<Integer> matches = new ArrayList<>();
+        if (normalized.isEmpty()) {
+            return matches;
+        }
+
+        if (normalized.length() < 3) {
+            for (Map.Entry<Integer, String> entry : documents.entrySet()) {
+                if (entry.getValue().contains(normalized)) {
+                    matches.add(entry.getKey());
+                }
+            }
+            return matches;
+        }
+
+        for (int documentId : candidates(normalized)) {
+            String text = documents.get(documentId);
+            if (text != null && text.contains(normalized)) {
+                matches.add(documentId);
+            }
+        }
+        return matches;
+    }
+
+
+    private int[] candidates(String normalized) {
+        Set<Long> queryTrigrams = trigrams(normalized);
+        List<PostingList> lists = new ArrayList<>(queryTrigrams.size());
+        for (long trigram : queryTrigrams) {
+            PostingList list = postings.get(trigram);
+            if (list == null) {
+                return new int[0];
+            }
+            lists.add(list);
+        }
+
+        lists.sort((left, right) -> Integer.compare(left.size(), right.size()));
+        int[] result = lists.get(0).toArray();
+        for (int i = 1; i < lists.size() && result.length > 0; i++) {
+            result = lists.get(i).intersect(result);
+        }
+        return result;
+    }
+
+
+    private static Set<Long> trigrams(String text) {
+        Set<Long> result = new LinkedHashSet<>();
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            long key = ((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2);
+            result.add(key);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,71 @@
+package service;
+
+import utils.LongIntHashMap;
+
+import java.util.Iterator;
+
+
+public class ActiveRequestIndex {
+    private static ActiveRequestIndex instance;
+
+    private final LongIntHashMap activePairs = new LongIntHashMap();
+    private volatile boolean loaded;
+
+    private ActiveRequestIndex() {}
+
+
+    public static ActiveRequestIndex getInstance() {
+        if (instance == null) {
+            synchronized (ActiveRequestIndex.class) {
+                if (instance == null) {
+                    instance = new ActiveRequestIndex();
+                }
+            }
+        }
+        return instance;
+    }
+
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+
+    public synchronized void rebuild(Iterator<Long> activeKeys) {
+        loaded = false;
+        activePairs.clear();
+        while (activeKeys.hasNext()) {
+            activePairs.increment(activeKeys.next());
+        }
+        loaded = true;
+    }
+
+
+    public void invalidate() {
+        loaded = false;
+    }
+
+
+    public synchronized boolean contains(int userId, int bookId) {
+        return activePairs.containsKey(LongIntHashMap.pack(userId, bookId));
+    }
+
+
+    public synchronized void add(int userId, int bookId) {
+        if (loaded) {
+            activePairs.increment(LongIntHashMap.pack(userId, bookId));
+        }
+    }
+
+
+    public synchronized void remove(int userId, int bookId) {
+        if (loaded) {
+            activePairs.decrement(LongIntHashMap.pack(userId, bookId));
+        }
+    }
+
+
+    public synchronized int size() {
+        return activePairs.size();
+    }
+}
@@ -1,15 +1,85 @@
 package service;
 
 import dao.BookDao;
+import dao.ResultSetCursor;
 import dto.Book;
+import dto.CatalogStatistics;
+import dto.FacetedSearchResult;
+import dto.ImportReport;
+import dto.SearchFacets;
+import search.BookFilter;
+import search.CatalogIndex;
+import search.Completion;
+import search.SearchResultCache;
+import utils.CacheStats;
+import utils.CsvReader;
+import utils.DataExporter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
 
 
 public class BookService {
+    private static final int SEARCH_CACHE_MAX_ENTRIES = 200;
+    private static final long SEARCH_CACHE_MAX_BYTES = 4L * 1024 * 1024;
+    private static final long SEARCH_CACHE_TTL_MS = 30_000;
+    private static final int IMPORT_COLUMN_COUNT = 6;
+    private static final int MAX_REPORTED_REJECTS = 20;
+
     private BookDao bookDao;
+    private CatalogIndex catalogIndex;
+    private DimensionCache dimensions;
+    private SearchResultCache searchCache;
     
     public BookService() {
         this.bookDao = new BookDao();
+        this.catalogIndex = CatalogIndex.getInstance();
+        this.dimensions = DimensionCache.getInstance();
+        this.searchCache = new SearchResultCache(SEARCH_CACHE_MAX_ENTRIES, SEARCH_CACHE_MAX_BYTES, SEARCH_CACHE_TTL_MS);
+        loadSearchIndex();
+    }
+    
+
+    public boolean loadSearchIndex() {
+        try (ResultSetCursor<Book> books = bookDao.streamAllBooks()) {
+            catalogIndex.rebuild(books);
+            return true;
+        } catch (Exception e) {
+            catalogIndex.invalidate();
+            System.err.println("Unable to build book search index: " + e.getMessage());
+            return false;
+        }
+    }
+    
+
+    private boolean ensureSearchIndex() {
+        return catalogIndex.isLoaded() || loadSearchIndex();
+    }
+    
+
+    private List<Book> cachedSearch(String mode, String term, Supplier<List<Book>> search) {
+        long version = catalogIndex.getVersion();
+        List<Book> results = searchCache.get(mode, term, version);
+        if (results != null) {
+            return results;
+        }
+
+        results = search.get();
+        if (results != null) {
+            searchCache.put(mode, term, version, results);
+        }
+        return results;
     }
     
 
@@ -30,6 +100,13 @@ public class BookService {
             boolean success = bookDao.createBook(book);
             
             if (success) {
+                if (book.getId() > 0) {
+                    catalogIndex.addOrUpdate(book);
+                    dimensions.putBook(book);
+                } else {
+                    catalogIndex.invalidate();
+                    dimensions.invalidateBooks();
+                }
                 System.out.println("Book added successfully: " + title + " by " + author);
                 return true;
             } else {
@@ -63,8 +140,34 @@ public class BookService {
     }
     
 
+    public List<Book> getBooksPage(Book lastSeen, int pageSize) {
+        try {
+            if (pageSize <= 0) {
+                System.out.println("Page size must be a positive number.");
+                return null;
+            }
+            
+            if (lastSeen == null) {
+                return bookDao.getBooksPage(null, 0, pageSize);
+            }
+            return bookDao.getBooksPage(lastSeen.getTitle(), lastSeen.getId(), pageSize);
+        } catch (RuntimeException e) {
+            System.err.println("System error while getting books page: " + e.getMessage());
+            return null;
+        } catch (Exception e) {
+            System.err.println("Unexpected error while getting books page: " + e.getMessage());
+            return null;
+        }
+    }
+    
+
     public List<Book> getAvailableBooks() {
         try {
+            if (ensureSearchIndex()) {
+                BookFilter filter = new BookFilter();
+                filter.setAvailableOnly(true);
+                return catalogIndex.filter(filter);
+            }
             return bookDao.getAvailableBooks();
         } catch (RuntimeException e) {
             System.err.println("System error while getting available books: " + e.getMessage());
@@ -97,27 +200,75 @@ public class BookService {
     }
     
 
-    public List<Book> searchBooks(String searchTerm) {
+    public FacetedSearchResult facetedSearchBooks(String searchTerm, String category) {
         try {
             if (searchTerm == null || searchTerm.trim().isEmpty()) {
                 System.out.println("Search term cannot be empty.");
                 return null;
             }
             
-            return bookDao.searchBooks(searchTerm.trim());
-        } catch (IllegalArgumentException e) {
-            System.err.println("Invalid search term: " + e.getMessage());
+            String term = searchTerm.trim();
+            String categoryFilter = category == null || category.trim().isEmpty() ? null : category.trim();
+            if (ensureSearchIndex()) {
+                return catalogIndex.facetedSearch(term, categoryFilter);
+            }
+            
+            SearchFacets facets = bookDao.getSearchFacets(term);
+            if (facets == null) {
+                return null;
+            }
+            List<Book> books = new ArrayList<>();
+            for (Book book : bookDao.searchBooks(term)) {
+                if (categoryFilter == null || categoryFilter.equalsIgnoreCase(book.getCategory())) {
+                    books.add(book);
+                }
+            }
+            return new FacetedSearchResult(books, facets);
+        } catch (RuntimeException e) {
+            System.err.println("System error during faceted book search: " + e.getMessage());
             return null;
+        } catch (Exception e) {
+            System.err.println("Unexpected error during faceted book search: " + e.getMessage());
+            return null;
+        }
+    }
+    
+
+    public List<Book> searchBooksRanked(String searchTerm, int limit) {
+        try {
+            if (searchTerm == null || searchTerm.trim().isEmpty()) {
+                System.out.println("Search term cannot be empty.");
+                return null;
+            }
+            
+            String term = searchTerm.trim();
+            if (ensureSearchIndex()) {
+                return cachedSearch("ranked:" + limit, term, () -> catalogIndex.rankedSearch(term, limit));
+            }
+            return cachedSearch("general:sql", term, () -> bookDao.searchBooks(term));
         } catch (RuntimeException e) {
-            System.err.println("System error during book search: " + e.getMessage());
+            System.err.println("System error during ranked book search: " + e.getMessage());
             return null;
         } catch (Exception e) {
-            System.err.println("Unexpected error during book search: " + e.getMessage());
+            System.err.println("Unexpected error during ranked book search: " + e.getMessage());
             return null;
         }
     }
     
 
+    public int countRankedMatches(String searchTerm) {
+        try {
+            if (searchTerm == null || searchTerm.trim().isEmpty() || !ensureSearchIndex()) {
+                return -1;
+            }
+            return catalogIndex.rankedMatchCount(searchTerm.trim());
+        } catch (Exception e) {
+            System.err.println("Error counting ranked search matches: " + e.getMessage());
+            return -1;
+        }
+    }
+    
+
     public List<Book> searchBooksByTitle(String title) {
         try {
             if (title == null || title.trim().isEmpty()) {
@@ -125,7 +276,10 @@ public class BookService {
                 return null;
             }
             
-            return bookDao.searchBooksByTitle(title.trim());
+            String term = title.trim();
+            return cachedSearch("title", term, () -> ensureSearchIndex()
+                    ? catalogIndex.searchByTitle(term)
+                    : bookDao.searchBooksByTitle(term));
         } catch (IllegalArgumentException e) {
             System.err.println("Invalid title for search: " + e.getMessage());
             return null;
@@ -146,7 +300,10 @@ public class BookService {
                 return null;
             }
             
-            return bookDao.searchBooksByAuthor(author.trim());
+            String term = author.trim();
+            return cachedSearch("author", term, () -> ensureSearchIndex()
+                    ? catalogIndex.searchByAuthor(term)
+                    : bookDao.searchBooksByAuthor(term));
         } catch (IllegalArgumentException e) {
             System.err.println("Invalid author for search: " + e.getMessage());
             return null;
@@ -167,7 +324,8 @@ public class BookService {
                 return null;
             }
             
-            return bookDao.searchBooksByCategory(category.trim());
+            String term = category.trim();
+            return cachedSearch("category", term, () -> bookDao.searchBooksByCategory(term));
         } catch (Exception e) {
             System.err.println("Error searching books by category: " + e.getMessage());
             return null;
@@ -175,6 +333,45 @@ public class BookService {
     }
     
 
+    public List<Book> fuzzySearchBooks(String searchTerm) {
+        try {
+            if (searchTerm == null || searchTerm.trim().isEmpty()) {
+                System.out.println("Search term cannot be empty.");
+                return null;
+            }
+
+            if (!ensureSearchIndex()) {
+                System.out.println("Fuzzy search is temporarily unavailable.");
+                return null;
+            }
+            String term = searchTerm.trim();
+            return cachedSearch("fuzzy", term, () -> catalogIndex.fuzzySearch(term));
+        } catch (Exception e) {
+            System.err.println("Error during fuzzy book search: " + e.getMessage());
+            return null;
+        }
+    }
+    
+
+    public List<Completion> autocomplete(String prefix, int limit) {
+        try {
+            if (prefix == null || prefix.trim().isEmpty()) {
+                System.out.println("Search prefix cannot be empty.");
+                return null;
+            }
+
+            if (!ensureSearchIndex()) {
+                System.out.println("Suggestions are temporarily unavailable.");
+                return null;
+            }
+            return catalogIndex.complete(prefix.trim(), limit);
+        } catch (Exception e) {
+            System.err.println("Error getting search suggestions: " + e.getMessage());
+            return null;
+        }
+    }
+    
+
     public boolean updateBook(int bookId, String title, String author, String category, int quantity, int floor, String shelve) {
         try {
             Book existingBook = bookDao.getBookById(bookId);
@@ -197,6 +394,8 @@ public class BookService {
             boolean success = bookDao.updateBook(existingBook);
 
             if (success) {
+                catalogIndex.addOrUpdate(existingBook);
+                dimensions.putBook(existingBook);
                 System.out.println("Book updated successfully: " + title);
                 return true;
             } else {
@@ -232,6 +431,7 @@ public class BookService {
             boolean success = bookDao.updateBookQuantity(bookId, newQuantity);
             
             if (success) {
+                catalogIndex.updateQuantity(bookId, newQuantity);
                 System.out.println("Book quantity updated successfully. New quantity: " + newQuantity);
                 return true;
             } else {
@@ -268,6 +468,8 @@ public class BookService {
             boolean success = bookDao.deleteBook(bookId);
             
             if (success) {
+                catalogIndex.remove(bookId);
+                dimensions.removeBook(bookId);
                 System.out.println("Book deleted successfully: " + book.getTitle());
                 return true;
             } else {
@@ -322,6 +524,26 @@ public class BookService {
     }
     
 
+    public void displaySearchFacets(SearchFacets facets) {
+        if (facets == null || facets.getTotalCount() == 0) {
+            return;
+        }
+        
+        System.out.println("Refine by category:");
+        for (Map.Entry<String, Integer> entry : facets.getCategoryCounts().entrySet()) {
+            String category = entry.getKey().isEmpty() ? "(none)" : entry.getKey();
+            System.out.printf("  %-20s (%d)%n", category, entry.getValue());
+        }
+        System.out.println("Refine by floor:");
+        for (Map.Entry<Integer, Integer> entry : facets.getFloorCounts().entrySet()) {
+            System.out.printf("  %-20s (%d)%n", "Floor " + entry.getKey(), entry.getValue());
+        }
+        System.out.println("Availability:");
+        System.out.printf("  %-20s (%d)%n", "Available", facets.getAvailableCount());
+        System.out.printf("  %-20s (%d)%n", "Not Available", facets.getUnavailableCount());
+    }
+    
+
     public void displayBooksList(List<Book> books, String title) {
         try {
             if (books == null || books.isEmpty()) {
@@ -359,6 +581,29 @@ public class BookService {
     }
     
 
+    public List<Book> filterBooks(List<String> categories, List<Integer> floors, boolean availableOnly) {
+        try {
+            if (!ensureSearchIndex()) {
+                System.out.println("Filtering is temporarily unavailable.");
+                return null;
+            }
+            
+            BookFilter filter = new BookFilter();
+            for (String category : categories) {
+                filter.addCategory(category);
+            }
+            for (int floor : floors) {
+                filter.addFloor(floor);
+            }
+            filter.setAvailableOnly(availableOnly);
+            return catalogIndex.filter(filter);
+        } catch (Exception e) {
+            System.err.println("Error filtering books: " + e.getMessage());
+            return null;
+        }
+    }
+    
+
     public List<Book> getBooksByCategory(String category) {
         try {
             if (category == null || category.trim().isEmpty()) {
@@ -366,7 +611,15 @@ public class BookService {
                 return null;
             }
             
-            return bookDao.getBooksByCategory(category.trim());
+            String exactCategory = category.trim();
+            if (ensureSearchIndex()) {
+                BookFilter filter = new BookFilter();
+                filter.addCategory(exactCategory);
+                List<Book> books = catalogIndex.filter(filter);
+                books.removeIf(book -> !exactCategory.equals(book.getCategory()));
+                return books;
+            }
+            return bookDao.getBooksByCategory(exactCategory);
         } catch (IllegalArgumentException e) {
             System.err.println("Invalid category: " + e.getMessage());
             return new java.util.ArrayList<>();
@@ -389,65 +642,256 @@ public class BookService {
         }
     }
     
-//
+
+    public ImportReport importBooksFromCsv(String filePath, int chunkSize) {
+        if (filePath == null || filePath.trim().isEmpty()) {
+            System.out.println("File path cannot be empty.");
+            return null;
+        }
+        if (chunkSize <= 0) {
+            System.out.println("Chunk size must be a positive number.");
+            return null;
+        }
+        
+        Path path;
+        try {
+            path = Paths.get(filePath.trim());
+        } catch (InvalidPathException e) {
+            System.out.println("Invalid file path: " + e.getMessage());
+            return null;
+        }
+        if (!Files.isReadable(path)) {
+            System.out.println("Cannot read file: " + path);
+            return null;
+        }
+        
+        ImportReport report = new ImportReport();
+        long started = System.nanoTime();
+        try (CsvReader reader = new CsvReader(Files.newBufferedReader(path, StandardCharsets.UTF_8))) {
+            Set<String> knownKeys = loadTitleAuthorKeys();
+            List<Book> chunk = new ArrayList<>(chunkSize);
+            List<Integer> chunkLines = new ArrayList<>(chunkSize);
+            boolean firstRecord = true;
+            
+            List<String> record;
+            while ((record = reader.readRecord()) != null) {
+                if (firstRecord) {
+                    firstRecord = false;
+                    if (record.get(0).trim().equalsIgnoreCase("title")) {
+                        continue;
+                    }
+                }
+                if (record.size() == 1 && record.get(0).trim().isEmpty()) {
+                    continue;
+                }
+                
+                report.incrementRowsRead();
+                int lineNumber = reader.getRecordLineNumber();
+                Book book = parseImportRecord(record, lineNumber, report);
+                if (book == null) {
+                    continue;
+                }
+                if (!knownKeys.add(BookDao.titleAuthorKey(book.getTitle(), book.getAuthor()))) {
+                    report.reject(lineNumber, "Book already exists: " + book.getTitle() + " by " + book.getAuthor());
+                    continue;
+                }
+                
+                chunk.add(book);
+                chunkLines.add(lineNumber);
+                if (chunk.size() >= chunkSize) {
+                    insertImportChunk(chunk, chunkLines, report);
+                }
+            }
+            insertImportChunk(chunk, chunkLines, report);
+        } catch (IOException e) {
+            System.err.println("Error reading import file: " + e.getMessage());
+        } catch (SQLException e) {
+            System.err.println("Database error during book import: " + e.getMessage());
+        } catch (RuntimeException e) {
+            System.err.println("System error during book import: " + e.getMessage());
+        } finally {
+            report.setElapsedMillis((System.nanoTime() - started) / 1_000_000);
+        }
+        
+        if (report.getImported() > 0) {
+            loadSearchIndex();
+            dimensions.invalidateBooks();
+        }
+        return report;
+    }
+    
+
+    public long exportBooks(String filePath, String format, boolean gzip) {
+        String[] columns = {"id", "title", "author", "category", "quantity", "floor", "shelve"};
+        try (ResultSetCursor<Book> books = bookDao.streamAllBooks()) {
+            long rows = DataExporter.export(Paths.get(filePath.trim()), format, gzip, columns, books, book -> new Object[] {
+                    book.getId(), book.getTitle(), book.getAuthor(), book.getCategory(),
+                    book.getQuantity(), book.getFloor(), book.getShelve()});
+            System.out.println("Exported " + rows + " books to " + filePath.trim());
+            return rows;
+        } catch (IOException e) {
+            System.err.println("Error writing book export: " + e.getMessage());
+            return -1;
+        } catch (SQLException e) {
+            System.err.println("Database error during book export: " + e.getMessage());
+            return -1;
+        } catch (RuntimeException e) {
+            System.err.println("System error during book export: " + e.getMessage());
+            return -1;
+        }
+    }
+    
+
+    public void displayImportReport(ImportReport report) {
+        if (report == null) {
+            return;
+        }
+        
+        System.out.println("\n" + "=".repeat(80));
+        System.out.println("IMPORT SUMMARY");
+        System.out.println("=".repeat(80));
+        System.out.println("Rows read:  " + report.getRowsRead());
+        System.out.println("Imported:   " + report.getImported());
+        System.out.println("Rejected:   " + report.getRejects().size());
+        System.out.printf("Elapsed:    %.1f s (%.0f rows/s)%n", report.getElapsedMillis() / 1000.0, report.getRowsPerSecond());
+        
+        List<String> rejects = report.getRejects();
+        if (!rejects.isEmpty()) {
+            System.out.println("\nRejected rows:");
+            int shown = Math.min(rejects.size(), MAX_REPORTED_REJECTS);
+            for (int i = 0; i < shown; i++) {
+                System.out.println("  " + rejects.get(i));
+            }
+            if (rejects.size() > shown) {
+                System.out.println("  ... and " + (rejects.size() - shown) + " more");
+            }
+        }
+        System.out.println("=".repeat(80));
+    }
+    
+
+    private Set<String> loadTitleAuthorKeys() throws SQLException {
+        Set<String> keys = new HashSet<>();
+        try (ResultSetCursor<String> cursor = bookDao.streamTitleAuthorKeys()) {
+            while (cursor.hasNext()) {
+                keys.add(cursor.next());
+            }
+        }
+        return keys;
+    }
+    
+
+    private Book parseImportRecord(List<String> record, int lineNumber, ImportReport report) {
+        if (record.size() != IMPORT_COLUMN_COUNT) {
+            report.reject(lineNumber, "Expected " + IMPORT_COLUMN_COUNT + " columns but found " + record.size());
+            return null;
+        }
+        
+        int quantity;
+        int floor;
+        try {
+            quantity = Integer.parseInt(record.get(3).trim());
+            floor = Integer.parseInt(record.get(4).trim());
+        } catch (NumberFormatException e) {
+            report.reject(lineNumber, "Quantity and floor must be whole numbers.");
+            return null;
+        }
+        
+        String title = record.get(0);
+        String author = record.get(1);
+        String category = record.get(2);
+        String shelve = record.get(5);
+        String error = validateBookFields(title, author, category, quantity, floor, shelve);
+        if (error != null) {
+            report.reject(lineNumber, error);
+            return null;
+        }
+        return new Book(title.trim(), author.trim(), category.trim(), quantity, floor, shelve.trim().toUpperCase());
+    }
+    
+
+    private void insertImportChunk(List<Book> chunk, List<Integer> chunkLines, ImportReport report) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        
+        try {
+            bookDao.executeInTransaction(connection -> bookDao.createBooks(connection, chunk));
+            report.addImported(chunk.size());
+        } catch (SQLException e) {
+            for (int i = 0; i < chunk.size(); i++) {
+                List<Book> single = Collections.singletonList(chunk.get(i));
+                try {
+                    bookDao.executeInTransaction(connection -> bookDao.createBooks(connection, single));
+                    report.addImported(1);
+                } catch (SQLException rowError) {
+                    report.reject(chunkLines.get(i), rowError.getMessage());
+                }
+            }
+        }
+        chunk.clear();
+        chunkLines.clear();
+    }
+    
+
     private boolean validateBookInput(String title, String author, String category, int quantity, int floor, String shelve) {
+        String error = validateBookFields(title, author, category, quantity, floor, shelve);
+        if (error != null) {
+            System.out.println(error);
+            return false;
+        }
+        return true;
+    }
+    
+
+    private String validateBookFields(String title, String author, String category, int quantity, int floor, String shelve) {
 
         if (title == null || title.trim().isEmpty()) {
-            System.out.println("Title cannot be empty.");
-            return false;
+            return "Title cannot be empty.";
         }
 
         if (title.trim().length() > 200) {
-            System.out.println("Title cannot exceed 200 characters.");
-            return false;
+            return "Title cannot exceed 200 characters.";
         }
 
 
         if (author == null || author.trim().isEmpty()) {
-            System.out.println("Author cannot be empty.");
-            return false;
+            return "Author cannot be empty.";
         }
 
         if (author.trim().length() > 150) {
-            System.out.println("Author cannot exceed 150 characters.");
-            return false;
+            return "Author cannot exceed 150 characters.";
         }
 
 
         if (category == null || category.trim().isEmpty()) {
-            System.out.println("Category cannot be empty.");
-            return false;
+            return "Category cannot be empty.";
         }
 
         if (category.trim().length() > 100) {
-            System.out.println("Category cannot exceed 100 characters.");
-            return false;
+            return "Category cannot exceed 100 characters.";
         }
 
 
         if (quantity < 0) {
-            System.out.println("Quantity cannot be negative.");
-            return false;
+            return "Quantity cannot be negative.";
         }
 
 
         if (floor <= 0) {
-            System.out.println("Floor must be a positive number.");
-            return false;
+            return "Floor must be a positive number.";
         }
 
 
         if (shelve == null || shelve.trim().isEmpty()) {
-            System.out.println("Shelve cannot be empty.");
-            return false;
+            return "Shelve cannot be empty.";
         }
 
         if (shelve.trim().length() > 50) {
-            System.out.println("Shelve identifier cannot exceed 50 characters.");
-            return false;
+            return "Shelve identifier cannot exceed 50 characters.";
         }
 
-        return true;
+        return null;
     }
     
 
@@ -468,37 +912,76 @@ public class BookService {
     }
     
 
-    public int getTotalBooksCount() {
+    public CacheStats getBookCacheStats() {
+        return BookDao.getCacheStats();
+    }
+    
+
+    public CacheStats getSearchCacheStats() {
+        return searchCache.getStats();
+    }
+    
+
+    public long getSearchCacheRetainedBytes() {
+        return searchCache.getRetainedBytes();
+    }
+    
+
+    public CatalogStatistics getCatalogStatistics() {
         try {
-            List<Book> books = bookDao.getAllBooks();
-            return books != null ? books.size() : 0;
+            return bookDao.getCatalogStatistics();
         } catch (Exception e) {
-            System.err.println("Error getting books count: " + e.getMessage());
-            return 0;
+            System.err.println("Error getting catalog statistics: " + e.getMessage());
+            return null;
         }
     }
     
 
+    public int getTotalBooksCount() {
+        return Math.max(bookDao.countBooks(), 0);
+    }
+    
+
     public int getAvailableBooksCount() {
-        try {
-            List<Book> books = bookDao.getAvailableBooks();
-            return books != null ? books.size() : 0;
-        } catch (Exception e) {
-            System.err.println("Error getting available books count: " + e.getMessage());
-            return 0;
-        }
+        return Math.max(bookDao.countAvailableBooks(), 0);
     }
     
 
     public int getTotalBooksQuantity() {
-        try {
-            List<Book> books = bookDao.getAllBooks();
-            if (books == null) return 0;
-            
-            return books.stream().mapToInt(Book::getQuantity).sum();
-        } catch (Exception e) {
-            System.err.println("Error getting total books quantity: " + e.getMessage());
-            return 0;
+        return Math.max(bookDao.sumBookQuantities(), 0);
+    }
+    
+
+    public void displayCatalogStatistics() {
+        CatalogStatistics statistics = getCatalogStatistics();
+        if (statistics == null) {
+            System.out.println("Catalog statistics are unavailable.");
+            return;
+        }
+        
+        System.out.println("\n" + "=".repeat(80));
+        System.out.println("CATALOG STATISTICS");
+        System.out.println("=".repeat(80));
+        System.out.println("Total titles:     " + statistics.getTotalTitles());
+        System.out.println("Available titles: " + statistics.getAvailableTitles());
+        System.out.println("Total copies:     " + statistics.getTotalCopies());
+        
+        System.out.println("\nBy category:");
+        System.out.printf("  %-20s %8s %10s %8s%n", "Category", "Titles", "Available", "Copies");
+        for (Map.Entry<String, CatalogStatistics.Breakdown> entry : statistics.getCategories().entrySet()) {
+            CatalogStatistics.Breakdown breakdown = entry.getValue();
+            String category = entry.getKey() != null ? entry.getKey() : "(none)";
+            System.out.printf("  %-20s %8d %10d %8d%n", category,
+                    breakdown.getTitles(), breakdown.getAvailableTitles(), breakdown.getCopies());
+        }
+        
+        System.out.println("\nBy floor:");
+        System.out.printf("  %-20s %8s %10s %8s%n", "Floor", "Titles", "Available", "Copies");
+        for (Map.Entry<Integer, CatalogStatistics.Breakdown> entry : statistics.getFloors().entrySet()) {
+            CatalogStatistics.Breakdown breakdown = entry.getValue();
+            System.out.printf("  %-20s %8d %10d %8d%n", "Floor " + entry.getKey(),
+                    breakdown.getTitles(), breakdown.getAvailableTitles(), breakdown.getCopies());
         }
+        System.out.println("=".repeat(80));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,151 @@
+package service;
+
+import dto.Book;
+import dto.Transaction;
+import dto.User;
+import utils.IntStringMap;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+
+public class DimensionCache {
+    private static DimensionCache instance;
+
+    private final IntStringMap userNames = new IntStringMap();
+    private final IntStringMap bookTitles = new IntStringMap();
+    private final IntStringMap bookAuthors = new IntStringMap();
+    private final Map<String, String> userStrings = new HashMap<>();
+    private final Map<String, String> bookStrings = new HashMap<>();
+    private volatile boolean usersLoaded;
+    private volatile boolean booksLoaded;
+
+    private DimensionCache() {}
+
+
+    public static DimensionCache getInstance() {
+        if (instance == null) {
+            synchronized (DimensionCache.class) {
+                if (instance == null) {
+                    instance = new DimensionCache();
+                }
+            }
+        }
+        return instance;
+    }
+
+
+    public boolean isUsersLoaded() {
+        return usersLoaded;
+    }
+
+
+    public boolean isBooksLoaded() {
+        return booksLoaded;
+    }
+
+
+    public synchronized void rebuildUsers(Iterator<User> users) {
+        usersLoaded = false;
+        userNames.clear();
+        userStrings.clear();
+        while (users.hasNext()) {
+            User user = users.next();
+            userNames.put(user.getId(), pooled(userStrings, user.getName()));
+        }
+        usersLoaded = true;
+    }
+
+
+    public synchronized void rebuildBooks(Iterator<Book> books) {
+        booksLoaded = false;
+        bookTitles.clear();
+        bookAuthors.clear();
+        bookStrings.clear();
+        while (books.hasNext()) {
+            Book book = books.next();
+            bookTitles.put(book.getId(), pooled(bookStrings, book.getTitle()));
+            bookAuthors.put(book.getId(), pooled(bookStrings, book.getAuthor()));
+        }
+        booksLoaded = true;
+    }
+
+
+    public synchronized void putUser(int userId, String name) {
+        userNames.put(userId, pooled(userStrings, name));
+    }
+
+
+    public synchronized void removeUser(int userId) {
+        userNames.remove(userId);
+    }
+
+
+    public synchronized void putBook(Book book) {
+        bookTitles.put(book.getId(), pooled(bookStrings, book.getTitle()));
+        bookAuthors.put(book.getId(), pooled(bookStrings, book.getAuthor()));
+    }
+
+
+    public synchronized void removeBook(int bookId) {
+        bookTitles.remove(bookId);
+        bookAuthors.remove(bookId);
+    }
+
+
+    public void invalidateUsers() {
+        usersLoaded = false;
+    }
+
+
+    public void invalidateBooks() {
+        booksLoaded = false;
+    }
+
+
+    public synchronized void resolve(Collection<Transaction> transactions, Set<Integer> missingUsers, Set<Integer> missingBooks) {
+        for (Transaction transaction : transactions) {
+            String userName = userNames.get(transaction.getUserId());
+            if (userName != null) {
+                transaction.setUserName(userName);
+            } else if (missingUsers != null) {
+                missingUsers.add(transaction.getUserId());
+            }
+
+            String title = bookTitles.get(transaction.getBookId());
+            if (title != null) {
+                transaction.setBookTitle(title);
+                transaction.setBookAuthor(bookAuthors.get(transaction.getBookId()));
+            } else if (missingBooks != null) {
+                missingBooks.add(transaction.getBookId());
+            }
+        }
+    }
+
+
+    public synchronized int getUserCount() {
+        return userNames.size();
+    }
+
+
+    public synchronized int getBookCount() {
+        return bookTitles.size();
+    }
+
+
+    public synchronized int getPooledStringCount() {
+        return userStrings.size() + bookStrings.size();
+    }
+
+
+    private static String pooled(Map<String, String> pool, String value) {
+        if (value == null) {
+            return null;
+        }
+        String existing = pool.putIfAbsent(value, value);
+        return existing != null ? existing : value;
+    }
+}
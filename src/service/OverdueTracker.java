@@ -0,0 +1,196 @@
+package service;
+
+import dto.Transaction;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+
+public class OverdueTracker {
+    private static OverdueTracker instance;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<LocalDate, Map<Integer, Transaction>> loansByDueDate = new TreeMap<>();
+    private final Map<Integer, LocalDate> dueDates = new HashMap<>();
+    private volatile boolean loaded;
+
+    private OverdueTracker() {}
+
+
+    public static OverdueTracker getInstance() {
+        if (instance == null) {
+            synchronized (OverdueTracker.class) {
+                if (instance == null) {
+                    instance = new OverdueTracker();
+                }
+            }
+        }
+        return instance;
+    }
+
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+
+    public void rebuild(Iterator<Transaction> activeLoans) {
+        lock.writeLock().lock();
+        try {
+            loaded = false;
+            loansByDueDate.clear();
+            dueDates.clear();
+            while (activeLoans.hasNext()) {
+                Transaction loan = activeLoans.next();
+                if (loan.isActive() && loan.getDueDate() != null) {
+                    track(loan);
+                }
+            }
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+
+    public void invalidate() {
+        loaded = false;
+    }
+
+
+    public void add(Transaction loan) {
+        if (!loaded || loan == null || !loan.isActive() || loan.getDueDate() == null) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            track(loan);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+
+    public void remove(int transactionId) {
+        if (!loaded) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            untrack(transactionId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+
+    public List<Transaction> getActiveLoans() {
+        lock.readLock().lock();
+        try {
+            return flatten(loansByDueDate);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+
+    public List<Transaction> getOverdue(LocalDate today) {
+        lock.readLock().lock();
+        try {
+            return flatten(loansByDueDate.headMap(today, false));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+
+    public List<Transaction> getDueWithin(LocalDate today, int days) {
+        lock.readLock().lock();
+        try {
+            return flatten(loansByDueDate.subMap(today, true, today.plusDays(days), true));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+
+    public int getOverdueCount(LocalDate today) {
+        lock.readLock().lock();
+        try {
+            int count = 0;
+            for (Map<Integer, Transaction> loans : loansByDueDate.headMap(today, false).values()) {
+                count += loans.size();
+            }
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+
+    public double getOutstandingFines(LocalDate today) {
+        lock.readLock().lock();
+        try {
+            double total = 0.0;
+            for (Map.Entry<LocalDate, Map<Integer, Transaction>> entry : loansByDueDate.headMap(today, false).entrySet()) {
+                long overdueDays = ChronoUnit.DAYS.between(entry.getKey(), today);
+                total += overdueDays * Transaction.FINE_PER_DAY * entry.getValue().size();
+            }
+            return total;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return dueDates.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+
+    private void track(Transaction loan) {
+        untrack(loan.getId());
+        LocalDate dueDate = loan.getDueDate();
+        loansByDueDate.computeIfAbsent(dueDate, key -> new LinkedHashMap<>()).put(loan.getId(), loan);
+        dueDates.put(loan.getId(), dueDate);
+    }
+
+
+    private void untrack(int transactionId) {
+        LocalDate dueDate = dueDates.remove(transactionId);
+        if (dueDate == null) {
+            return;
+        }
+
+        Map<Integer, Transaction> loans = loansByDueDate.get(dueDate);
+        loans.remove(transactionId);
+        if (loans.isEmpty()) {
+            loansByDueDate.remove(dueDate);
+        }
+    }
+
+
+    private static List<Transaction> flatten(NavigableMap<LocalDate, Map<Integer, Transaction>> loansByDate) {
+        List<Transaction> result = new ArrayList<>();
+        for (Map<Integer, Transaction> loans : loansByDate.values()) {
+            result.addAll(loans.values());
+        }
+        return result;
+    }
+}
@@ -2,19 +2,168 @@ package service;
 
 import dao.TransactionDao;
 import dao.BookDao;
+import dao.UserDao;
 import dto.Transaction;
 import dto.Book;
+import dto.FineReportEntry;
+import dto.User;
+import dao.ResultSetCursor;
+import dao.TransactionCallback;
+import search.CatalogIndex;
+import utils.DataExporter;
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.sql.Date;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 
 public class TransactionService {
+    private static final String OUTCOME_APPROVED = "Approved";
+    private static final String OUTCOME_DENIED = "Denied";
+    private static final String OUTCOME_NOT_PENDING = "Not found or not pending";
+    private static final String OUTCOME_UNAVAILABLE = "Book is no longer available";
+
     private TransactionDao transactionDao;
     private BookDao bookDao;
+    private CatalogIndex catalogIndex;
+    private OverdueTracker overdueTracker;
+    private ActiveRequestIndex activeRequests;
+    private UserDao userDao;
+    private DimensionCache dimensions;
+    private final Clock clock;
 
     public TransactionService() {
+        this(Clock.systemDefaultZone());
+    }
+
+
+    public TransactionService(Clock clock) {
+        this.clock = clock;
         this.transactionDao = new TransactionDao();
         this.bookDao = new BookDao();
+        this.catalogIndex = CatalogIndex.getInstance();
+        this.overdueTracker = OverdueTracker.getInstance();
+        this.activeRequests = ActiveRequestIndex.getInstance();
+        this.userDao = new UserDao();
+        this.dimensions = DimensionCache.getInstance();
+        loadOverdueTracker();
+        loadActiveRequests();
+        loadDimensionCache();
+    }
+
+
+    public boolean loadOverdueTracker() {
+        try (ResultSetCursor<Transaction> loans = transactionDao.streamActiveLoans()) {
+            overdueTracker.rebuild(loans);
+            return true;
+        } catch (Exception e) {
+            overdueTracker.invalidate();
+            System.err.println("Unable to load active loans: " + e.getMessage());
+            return false;
+        }
+    }
+
+
+    private boolean ensureOverdueTracker() {
+        return overdueTracker.isLoaded() || loadOverdueTracker();
+    }
+
+
+    public boolean loadActiveRequests() {
+        try (ResultSetCursor<Long> keys = transactionDao.streamActiveRequestKeys()) {
+            activeRequests.rebuild(keys);
+            return true;
+        } catch (Exception e) {
+            activeRequests.invalidate();
+            System.err.println("Unable to load active requests: " + e.getMessage());
+            return false;
+        }
+    }
+
+
+    private boolean hasActiveRequest(int userId, int bookId) {
+        if (activeRequests.isLoaded() || loadActiveRequests()) {
+            return activeRequests.contains(userId, bookId);
+        }
+        return transactionDao.hasActiveRequest(userId, bookId);
+    }
+
+
+    public boolean loadDimensionCache() {
+        boolean loaded = true;
+        try (ResultSetCursor<User> users = userDao.streamUserNames()) {
+            dimensions.rebuildUsers(users);
+        } catch (Exception e) {
+            dimensions.invalidateUsers();
+            System.err.println("Unable to load user name cache: " + e.getMessage());
+            loaded = false;
+        }
+        try (ResultSetCursor<Book> books = bookDao.streamBookLabels()) {
+            dimensions.rebuildBooks(books);
+        } catch (Exception e) {
+            dimensions.invalidateBooks();
+            System.err.println("Unable to load book title cache: " + e.getMessage());
+            loaded = false;
+        }
+        return loaded;
+    }
+    
+
+    private boolean ensureDimensionCache() {
+        return (dimensions.isUsersLoaded() && dimensions.isBooksLoaded()) || loadDimensionCache();
+    }
+    
+
+    private void resolveNames(List<Transaction> transactions) {
+        ensureDimensionCache();
+
+        Set<Integer> missingUsers = new HashSet<>();
+        Set<Integer> missingBooks = new HashSet<>();
+        dimensions.resolve(transactions, missingUsers, missingBooks);
+        if (missingUsers.isEmpty() && missingBooks.isEmpty()) {
+            return;
+        }
+
+        if (!missingUsers.isEmpty()) {
+            for (Map.Entry<Integer, String> entry : userDao.getUserNames(missingUsers).entrySet()) {
+                dimensions.putUser(entry.getKey(), entry.getValue());
+            }
+        }
+        if (!missingBooks.isEmpty()) {
+            for (Book book : bookDao.getBookLabels(missingBooks).values()) {
+                dimensions.putBook(book);
+            }
+        }
+        dimensions.resolve(transactions, null, null);
+    }
+    
+
+    public int getCachedUserNameCount() {
+        return dimensions.getUserCount();
+    }
+    
+
+    public int getCachedBookTitleCount() {
+        return dimensions.getBookCount();
+    }
+    
+
+    public int getPooledNameCount() {
+        return dimensions.getPooledStringCount();
+    }
+    
+
+    public LocalDate today() {
+        return LocalDate.now(clock);
     }
 
 
@@ -39,16 +188,18 @@ public class TransactionService {
             }
 
 
-            if (transactionDao.hasActiveRequest(userId, bookId)) {
+            if (hasActiveRequest(userId, bookId)) {
                 System.out.println("You already have an active request or issued copy of this book.");
                 return false;
             }
 
 
             Transaction transaction = new Transaction(userId, bookId, "PENDING");
+            transaction.setIssueDate(new Date(clock.millis()));
             boolean success = transactionDao.createTransaction(transaction);
 
             if (success) {
+                activeRequests.add(userId, bookId);
                 System.out.println("Book request submitted successfully.");
                 System.out.println("Your request for \"" + book.getTitle() + "\" is pending approval.");
                 return true;
@@ -73,35 +224,46 @@ public class TransactionService {
 
     public boolean approveBookRequest(int transactionId) {
         try {
-            Transaction transaction = transactionDao.getTransactionById(transactionId);
-            if (transaction == null) {
-                System.out.println("Transaction not found.");
-                return false;
-            }
+            Transaction approved = transactionDao.executeInTransaction(connection -> {
+                Transaction transaction = transactionDao.lockTransaction(connection, transactionId);
+                if (transaction == null) {
+                    System.out.println("Transaction not found.");
+                    return null;
+                }
 
-            if (!transaction.isPending()) {
-                System.out.println("Transaction is not pending approval.");
-                return false;
-            }
+                if (!transaction.isPending()) {
+                    System.out.println("Transaction is not pending approval.");
+                    return null;
+                }
 
-            Book book = bookDao.getBookById(transaction.getBookId());
-            if (book == null || book.getQuantity() <= 0) {
-                System.out.println("Book is no longer available.");
-                return false;
-            }
+                if (!bookDao.decrementBookQuantity(connection, transaction.getBookId())) {
+                    System.out.println("Book is no longer available.");
+                    return null;
+                }
 
-            boolean statusUpdated = transactionDao.updateTransactionStatus(transactionId, "APPROVED");
-            if (!statusUpdated) {
-                System.out.println("Failed to approve request. Please try again.");
+                boolean statusUpdated = transactionDao.updatePendingTransactionStatus(connection, transactionId, "APPROVED");
+                if (!statusUpdated) {
+                    throw new SQLException("Transaction ID " + transactionId + " is no longer pending");
+                }
+                return transaction;
+            });
+
+            if (approved == null) {
                 return false;
             }
 
-            bookDao.updateBookQuantity(book.getId(), book.getQuantity() - 1);
-
+            bookDao.evictFromCache(approved.getBookId());
+            catalogIndex.adjustQuantity(approved.getBookId(), -1);
+            approved.approve();
+            overdueTracker.add(approved);
             System.out.println("Book request approved successfully.");
             return true;
 
-        }catch (IllegalArgumentException e) {
+        } catch (SQLException e) {
+            System.err.println("Database error during request approval: " + e.getMessage());
+            System.out.println("Failed to approve request. No changes were saved.");
+            return false;
+        } catch (IllegalArgumentException e) {
             System.err.println("Invalid input for request approval: " + e.getMessage());
             return false;
         } catch (RuntimeException e) {
@@ -127,13 +289,14 @@ public class TransactionService {
                 return false;
             }
 
-            boolean success = transactionDao.updateTransactionStatus(transactionId, "DENIED");
+            boolean success = transactionDao.updatePendingTransactionStatus(transactionId, "DENIED");
 
             if (success) {
+                activeRequests.remove(transaction.getUserId(), transaction.getBookId());
                 System.out.println("Book request denied.");
                 return true;
             } else {
-                System.out.println("Failed to deny request. Please try again.");
+                System.out.println("Failed to deny request. It may no longer be pending.");
                 return false;
             }
 
@@ -150,32 +313,181 @@ public class TransactionService {
     }
 
 
-    public boolean adminReturnBook(int transactionId, boolean collectFine) {
+    public Map<Integer, String> batchApproveRequests(List<Integer> transactionIds) {
+        return batchApprove(transactionIds,
+                connection -> transactionDao.lockPendingTransactions(connection, transactionIds));
+    }
+
+
+    public Map<Integer, String> batchApproveRequestsForBooks(List<Integer> bookIds) {
+        return batchApprove(new ArrayList<>(),
+                connection -> transactionDao.lockPendingTransactionsForBooks(connection, bookIds));
+    }
+
+
+    public Map<Integer, String> batchDenyRequests(List<Integer> transactionIds) {
         try {
-            Transaction transaction = transactionDao.getTransactionById(transactionId);
-            if (transaction == null) {
-                System.out.println("Transaction not found.");
-                return false;
+            BatchResult batch = transactionDao.executeInTransaction(connection -> {
+                BatchResult result = new BatchResult();
+                for (int transactionId : transactionIds) {
+                    result.outcomes.put(transactionId, OUTCOME_NOT_PENDING);
+                }
+
+                List<Integer> deniedIds = new ArrayList<>();
+                for (Transaction transaction : transactionDao.lockPendingTransactions(connection, transactionIds)) {
+                    deniedIds.add(transaction.getId());
+                    result.processed.add(transaction);
+                    result.outcomes.put(transaction.getId(), OUTCOME_DENIED);
+                }
+                if (!deniedIds.isEmpty()) {
+                    transactionDao.updateTransactionStatuses(connection, deniedIds, "DENIED");
+                }
+                return result;
+            });
+
+            for (Transaction transaction : batch.processed) {
+                activeRequests.remove(transaction.getUserId(), transaction.getBookId());
             }
+            return batch.outcomes;
+        } catch (SQLException e) {
+            System.err.println("Database error during batch denial: " + e.getMessage());
+            System.out.println("Failed to deny requests. No changes were saved.");
+            return null;
+        } catch (RuntimeException e) {
+            System.err.println("System error during batch denial: " + e.getMessage());
+            return null;
+        }
+    }
 
-            if (!transaction.isApproved() || transaction.getReturnDate() != null) {
-                System.out.println("Book is not currently issued or already returned.");
-                return false;
+
+    public void displayBatchOutcomes(Map<Integer, String> outcomes) {
+        if (outcomes == null) {
+            return;
+        }
+        if (outcomes.isEmpty()) {
+            System.out.println("No pending requests matched.");
+            return;
+        }
+
+        System.out.println("\n" + "-".repeat(60));
+        System.out.printf("%-15s | %s%n", "Transaction ID", "Outcome");
+        System.out.println("-".repeat(60));
+        int succeeded = 0;
+        for (Map.Entry<Integer, String> entry : outcomes.entrySet()) {
+            System.out.printf("%-15d | %s%n", entry.getKey(), entry.getValue());
+            if (entry.getValue().equals(OUTCOME_APPROVED) || entry.getValue().equals(OUTCOME_DENIED)) {
+                succeeded++;
+            }
+        }
+        System.out.println("-".repeat(60));
+        System.out.println(succeeded + " of " + outcomes.size() + " requests processed.");
+    }
+
+
+    private Map<Integer, String> batchApprove(List<Integer> requestedIds, TransactionCallback<List<Transaction>> pendingLoader) {
+        try {
+            BatchResult batch = transactionDao.executeInTransaction(connection -> {
+                BatchResult result = new BatchResult();
+                for (int transactionId : requestedIds) {
+                    result.outcomes.put(transactionId, OUTCOME_NOT_PENDING);
+                }
+
+                List<Transaction> pending = pendingLoader.doInTransaction(connection);
+                Set<Integer> bookIds = new LinkedHashSet<>();
+                for (Transaction transaction : pending) {
+                    bookIds.add(transaction.getBookId());
+                }
+                Map<Integer, Integer> remaining = bookDao.lockBookQuantities(connection, bookIds);
+
+                List<Integer> approvedIds = new ArrayList<>();
+                List<Integer> decrementedBookIds = new ArrayList<>();
+                for (Transaction transaction : pending) {
+                    int copies = remaining.getOrDefault(transaction.getBookId(), 0);
+                    if (copies <= 0) {
+                        result.outcomes.put(transaction.getId(), OUTCOME_UNAVAILABLE);
+                        continue;
+                    }
+
+                    remaining.put(transaction.getBookId(), copies - 1);
+                    approvedIds.add(transaction.getId());
+                    decrementedBookIds.add(transaction.getBookId());
+                    result.processed.add(transaction);
+                    result.outcomes.put(transaction.getId(), OUTCOME_APPROVED);
+                }
+
+                if (!approvedIds.isEmpty()) {
+                    bookDao.decrementBookQuantities(connection, decrementedBookIds);
+                    transactionDao.updateTransactionStatuses(connection, approvedIds, "APPROVED");
+                }
+                return result;
+            });
+
+            for (Transaction transaction : batch.processed) {
+                bookDao.evictFromCache(transaction.getBookId());
+                catalogIndex.adjustQuantity(transaction.getBookId(), -1);
+                transaction.approve();
+                overdueTracker.add(transaction);
             }
+            return batch.outcomes;
+
+        } catch (SQLException e) {
+            System.err.println("Database error during batch approval: " + e.getMessage());
+            System.out.println("Failed to approve requests. No changes were saved.");
+            return null;
+        } catch (RuntimeException e) {
+            System.err.println("System error during batch approval: " + e.getMessage());
+            return null;
+        }
+    }
 
 
-            double fine = transaction.calculateFine();
+    public boolean adminReturnBook(int transactionId, boolean collectFine) {
+        LocalDate today = today();
+        try {
+            Transaction returned = transactionDao.executeInTransaction(connection -> {
+                Transaction transaction = transactionDao.lockTransaction(connection, transactionId);
+                if (transaction == null) {
+                    System.out.println("Transaction not found.");
+                    return null;
+                }
+
+                if (!transaction.isApproved() || transaction.getReturnDate() != null) {
+                    System.out.println("Book is not currently issued or already returned.");
+                    return null;
+                }
+
+                Date returnDate = new Date(clock.millis());
+                boolean statusUpdated = transactionDao.returnBook(connection, transactionId, returnDate);
+                if (!statusUpdated) {
+                    System.out.println("Book is not currently issued or already returned.");
+                    return null;
+                }
 
+                if (!bookDao.incrementBookQuantity(connection, transaction.getBookId())) {
+                    throw new SQLException("Quantity update failed for book ID " + transaction.getBookId());
+                }
+                return transaction;
+            });
 
+            if (returned == null) {
+                return false;
+            }
+
+            bookDao.evictFromCache(returned.getBookId());
+            catalogIndex.adjustQuantity(returned.getBookId(), 1);
+            overdueTracker.remove(returned.getId());
+            activeRequests.remove(returned.getUserId(), returned.getBookId());
+
+            double fine = returned.calculateFine(today);
             if (fine > 0) {
                 System.out.println("\n" + "=".repeat(50));
                 System.out.println("FINE CALCULATION");
                 System.out.println("=".repeat(50));
-                System.out.println("Book: " + transaction.getBookTitle());
-                System.out.println("Student: " + transaction.getUserName());
-                System.out.println("Issue Date: " + transaction.getIssueDate());
-                System.out.println("Due Date: " + transaction.getDueDate());
-                System.out.println("Overdue Days: " + transaction.getOverdueDays());
+                System.out.println("Book: " + returned.getBookTitle());
+                System.out.println("Student: " + returned.getUserName());
+                System.out.println("Issue Date: " + returned.getIssueDate());
+                System.out.println("Due Date: " + returned.getDueDate());
+                System.out.println("Overdue Days: " + returned.getOverdueDays(today));
                 System.out.println("Fine Amount: ₹" + String.format("%.2f", fine));
                 System.out.println("=".repeat(50));
 
@@ -187,26 +499,14 @@ public class TransactionService {
             } else {
                 System.out.println("✓ No fine applicable - book returned on time.");
             }
-
-            Date returnDate = new Date(System.currentTimeMillis());
-            boolean statusUpdated = transactionDao.returnBook(transactionId, returnDate);
-            if (!statusUpdated) {
-                System.out.println("Failed to return book. Please try again.");
-                return false;
-            }
-
-            Book book = bookDao.getBookById(transaction.getBookId());
-            if (book != null) {
-                bookDao.updateBookQuantity(book.getId(), book.getQuantity() + 1);
-            }
-
             System.out.println("\n✓ Book returned successfully by admin.");
-            if (fine > 0 && collectFine) {
-                System.out.println("✓ Fine of ₹" + String.format("%.2f", fine) + " collected.");
-            }
 
             return true;
 
+        } catch (SQLException e) {
+            System.err.println("Database error during book return: " + e.getMessage());
+            System.out.println("Failed to return book. No changes were saved.");
+            return false;
         } catch (IllegalArgumentException e) {
             System.err.println("Invalid input for book return: " + e.getMessage());
             return false;
@@ -230,6 +530,46 @@ public class TransactionService {
     }
 
 
+    public long exportTransactions(String filePath, String format, boolean gzip) {
+        String[] columns = {"id", "user_id", "book_id", "status", "issue_date", "return_date",
+                "user_name", "book_title", "book_author"};
+        try (ResultSetCursor<Transaction> transactions = transactionDao.streamAllTransactions()) {
+            long rows = DataExporter.export(Paths.get(filePath.trim()), format, gzip, columns, transactions,
+                    transaction -> new Object[] {
+                            transaction.getId(), transaction.getUserId(), transaction.getBookId(), transaction.getStatus(),
+                            transaction.getIssueDate(), transaction.getReturnDate(),
+                            transaction.getUserName(), transaction.getBookTitle(), transaction.getBookAuthor()});
+            System.out.println("Exported " + rows + " transactions to " + filePath.trim());
+            return rows;
+        } catch (IOException e) {
+            System.err.println("Error writing transaction export: " + e.getMessage());
+            return -1;
+        } catch (SQLException e) {
+            System.err.println("Database error during transaction export: " + e.getMessage());
+            return -1;
+        } catch (RuntimeException e) {
+            System.err.println("System error during transaction export: " + e.getMessage());
+            return -1;
+        }
+    }
+
+
+    public List<Transaction> getTransactionsPage(Transaction lastSeen, int pageSize) {
+        try {
+            if (pageSize <= 0) {
+                System.out.println("Page size must be a positive number.");
+                return null;
+            }
+
+            int beforeId = lastSeen != null ? lastSeen.getId() : Integer.MAX_VALUE;
+            return transactionDao.getTransactionsPage(beforeId, pageSize);
+        } catch (Exception e) {
+            System.err.println("Error getting transactions page: " + e.getMessage());
+            return null;
+        }
+    }
+
+
     public List<Transaction> getPendingTransactions() {
         try {
             return transactionDao.getPendingTransactions();
@@ -312,7 +652,9 @@ public class TransactionService {
 
     public void displayIssuedBooksWithFines() {
         try {
-            List<Transaction> transactions = getApprovedTransactions();
+            List<Transaction> transactions = ensureOverdueTracker()
+                    ? overdueTracker.getActiveLoans()
+                    : getApprovedTransactions();
             displayTransactionsListWithFines(transactions, "ISSUED BOOKS - RETURN MANAGEMENT");
         } catch (Exception e) {
             System.err.println("Error displaying issued books with fines: " + e.getMessage());
@@ -349,6 +691,8 @@ public class TransactionService {
                 return;
             }
 
+            resolveNames(transactions);
+
             System.out.println("\n" + "=".repeat(150));
             System.out.println(title);
             System.out.println("=".repeat(150));
@@ -385,6 +729,94 @@ public class TransactionService {
     }
 
 
+    public void displayOverdueReport(int dueWithinDays) {
+        try {
+            if (!ensureOverdueTracker()) {
+                System.out.println("Overdue report is temporarily unavailable.");
+                return;
+            }
+
+            LocalDate today = today();
+            displayTransactionsListWithFines(overdueTracker.getOverdue(today), "OVERDUE BOOKS");
+            displayTransactionsListWithFines(overdueTracker.getDueWithin(today, dueWithinDays),
+                    "DUE IN THE NEXT " + dueWithinDays + " DAYS");
+
+            System.out.println("\nActive loans: " + overdueTracker.size());
+            System.out.println("Overdue loans: " + overdueTracker.getOverdueCount(today));
+            System.out.println("Total outstanding fines: ₹" + String.format("%.2f", overdueTracker.getOutstandingFines(today)));
+        } catch (Exception e) {
+            System.err.println("Error displaying overdue report: " + e.getMessage());
+        }
+    }
+
+
+    public List<FineReportEntry> getFineReport() {
+        try {
+            return transactionDao.getFineReport(today());
+        } catch (Exception e) {
+            System.err.println("Error getting fine report: " + e.getMessage());
+            return null;
+        }
+    }
+
+
+    public void displayFineReport() {
+        try {
+            List<FineReportEntry> entries = getFineReport();
+            if (entries == null) {
+                System.out.println("Fine report is temporarily unavailable.");
+                return;
+            }
+            if (entries.isEmpty()) {
+                System.out.println("No outstanding fines.");
+                return;
+            }
+
+            System.out.println("\n" + "=".repeat(100));
+            System.out.println("OUTSTANDING FINES BY STUDENT");
+            System.out.println("=".repeat(100));
+            System.out.printf("%-8s | %-25s | %-14s | %-12s%n", "User ID", "Student", "Overdue Books", "Total Fine");
+            System.out.println("-".repeat(100));
+
+            double grandTotal = 0.0;
+            int lastUserId = -1;
+            for (FineReportEntry entry : entries) {
+                if (entry.getUserId() != lastUserId) {
+                    lastUserId = entry.getUserId();
+                    grandTotal += entry.getUserTotalFine();
+                    System.out.printf("%-8d | %-25s | %-14d | ₹%-11.2f%n",
+                            entry.getUserId(),
+                            truncateString(entry.getUserName(), 25),
+                            entry.getUserOverdueLoans(),
+                            entry.getUserTotalFine());
+                }
+            }
+
+            System.out.println("\n" + "=".repeat(100));
+            System.out.println("OVERDUE LOANS");
+            System.out.println("=".repeat(100));
+            System.out.printf("%-4s | %-18s | %-25s | %-12s | %-12s | %-8s | %-10s%n",
+                    "ID", "User", "Book", "Issue Date", "Due Date", "Days", "Fine");
+            System.out.println("-".repeat(100));
+            for (FineReportEntry entry : entries) {
+                System.out.printf("%-4d | %-18s | %-25s | %-12s | %-12s | %-8d | ₹%-9.2f%n",
+                        entry.getTransactionId(),
+                        truncateString(entry.getUserName(), 18),
+                        truncateString(entry.getBookTitle(), 25),
+                        entry.getIssueDate(),
+                        entry.getDueDate(),
+                        entry.getOverdueDays(),
+                        entry.getFine());
+            }
+            System.out.println("-".repeat(100));
+            System.out.println("Overdue loans: " + entries.size());
+            System.out.println("Total outstanding fines: ₹" + String.format("%.2f", grandTotal));
+        } catch (Exception e) {
+            System.err.println("Error displaying fine report: " + e.getMessage());
+        }
+    }
+
+
     public void displayTransactionsListWithFines(List<Transaction> transactions, String title) {
         try {
             if (transactions == null || transactions.isEmpty()) {
@@ -392,6 +824,8 @@ public class TransactionService {
                 return;
             }
 
+            resolveNames(transactions);
+
             System.out.println("\n" + "=".repeat(170));
             System.out.println(title);
             System.out.println("=".repeat(170));
@@ -399,6 +833,7 @@ public class TransactionService {
                     "ID", "User", "Book", "Issue Date", "Due Date", "Status", "Fine Status");
             System.out.println("-".repeat(170));
 
+            LocalDate today = today();
             double totalFines = 0.0;
             int overdueCount = 0;
 
@@ -408,7 +843,7 @@ public class TransactionService {
                 String bookTitle = transaction.getBookTitle() != null ?
                         transaction.getBookTitle() : "ID: " + transaction.getBookId();
 
-                double fine = transaction.calculateFine();
+                double fine = transaction.calculateFine(today);
                 if (fine > 0) {
                     totalFines += fine;
                     overdueCount++;
@@ -420,8 +855,8 @@ public class TransactionService {
                         truncateString(bookTitle, 25),
                         transaction.getIssueDate(),
                         transaction.getDueDate(),
-                        transaction.isOverdue() ? "OVERDUE" : "ON TIME",
-                        transaction.getFineStatus());
+                        fine > 0 ? "OVERDUE" : "ON TIME",
+                        transaction.getFineStatus(today));
             }
 
             System.out.println("-".repeat(170));
@@ -460,50 +895,49 @@ public class TransactionService {
 //    }
 
 
-//    public List<Transaction> getTransactionsByStatus(String status) {
-//        try {
-//            if (status == null || status.trim().isEmpty()) {
-//                System.out.println("Status cannot be empty.");
-//                return null;
-//            }
-//
-//            return transactionDao.getTransactionsByStatus(status.trim().toUpperCase());
-//        } catch (Exception e) {
-//            System.err.println("Error getting transactions by status: " + e.getMessage());
-//            return null;
-//        }
-//    }
+    public List<Transaction> getTransactionsByStatus(String status) {
+        try {
+            if (status == null || status.trim().isEmpty()) {
+                System.out.println("Status cannot be empty.");
+                return null;
+            }
 
-//    public int getTotalTransactionsCount() {
-//        try {
-//            List<Transaction> transactions = transactionDao.getAllTransactions();
-//            return transactions != null ? transactions.size() : 0;
-//        } catch (Exception e) {
-//            System.err.println("Error getting transactions count: " + e.getMessage());
-//            return 0;
-//        }
-//    }
-//
-//    public int getPendingRequestsCount() {
-//        try {
-//            List<Transaction> transactions = transactionDao.getPendingTransactions();
-//            return transactions != null ? transactions.size() : 0;
-//        } catch (Exception e) {
-//            System.err.println("Error getting pending requests count: " + e.getMessage());
-//            return 0;
-//        }
-//    }
+            return transactionDao.getTransactionsByStatus(status.trim().toUpperCase());
+        } catch (Exception e) {
+            System.err.println("Error getting transactions by status: " + e.getMessage());
+            return null;
+        }
+    }
 
 
-//    public int getIssuedBooksCount() {
-//        try {
-//            List<Transaction> transactions = transactionDao.getApprovedTransactions();
-//            return transactions != null ? transactions.size() : 0;
-//        } catch (Exception e) {
-//            System.err.println("Error getting issued books count: " + e.getMessage());
-//            return 0;
-//        }
-//    }
+    public int getTotalTransactionsCount() {
+        try {
+            return transactionDao.countTransactions();
+        } catch (Exception e) {
+            System.err.println("Error getting transactions count: " + e.getMessage());
+            return 0;
+        }
+    }
+
+
+    public int getPendingRequestsCount() {
+        try {
+            return transactionDao.countTransactionsByStatus("PENDING");
+        } catch (Exception e) {
+            System.err.println("Error getting pending requests count: " + e.getMessage());
+            return 0;
+        }
+    }
+
+
+    public int getIssuedBooksCount() {
+        try {
+            return ensureOverdueTracker() ? overdueTracker.size() : transactionDao.countActiveLoans();
+        } catch (Exception e) {
+            System.err.println("Error getting issued books count: " + e.getMessage());
+            return 0;
+        }
+    }
 
 
     private String truncateString(String str, int maxLength) {
@@ -549,4 +983,10 @@ public class TransactionService {
 //            return false;
 //        }
 //    }
+
+
+    private static class BatchResult {
+        private final Map<Integer, String> outcomes = new LinkedHashMap<>();
+        private final List<Transaction> processed = new ArrayList<>();
+    }
 }
@@ -8,11 +8,13 @@ import java.util.regex.Pattern;
 
 public class UserService {
     private UserDao userDao;
+    private DimensionCache dimensions;
     private static final Pattern EMAIL_PATTERN = 
         Pattern.compile("^[A-Za-z0-9+_.-]+@([A-Za-z0-9.-]+\\.[A-Za-z]{2,})$");
     
     public UserService() {
         this.userDao = new UserDao();
+        this.dimensions = DimensionCache.getInstance();
     }
     
 
@@ -35,6 +37,11 @@ public class UserService {
             boolean success = userDao.createUser(user);
             
             if (success) {
+                if (user.getId() > 0) {
+                    dimensions.putUser(user.getId(), user.getName());
+                } else {
+                    dimensions.invalidateUsers();
+                }
                 System.out.println("User created successfully: " + name);
                 return true;
             } else {
@@ -65,6 +72,24 @@ public class UserService {
     }
     
 
+    public List<User> getUsersPage(User lastSeen, int pageSize) {
+        try {
+            if (pageSize <= 0) {
+                System.out.println("Page size must be a positive number.");
+                return null;
+            }
+
+            if (lastSeen == null) {
+                return userDao.getUsersPage(null, 0, pageSize);
+            }
+            return userDao.getUsersPage(lastSeen.getName(), lastSeen.getId(), pageSize);
+        } catch (Exception e) {
+            System.err.println("Error getting users page: " + e.getMessage());
+            return null;
+        }
+    }
+    
+
     public boolean deleteUser(int userId) {
         try {
             if (userId <= 0) {
@@ -81,6 +106,7 @@ public class UserService {
             boolean success = userDao.deleteUser(userId);
             
             if (success) {
+                dimensions.removeUser(userId);
                 System.out.println("User deleted successfully: " + user.getName());
                 return true;
             } else {
@@ -129,16 +155,19 @@ public class UserService {
 
 
     public void displayAllUsers() {
+        displayUsersList(getAllUsers(), "ALL USERS");
+    }
+
+
+    public void displayUsersList(List<User> users, String title) {
         try {
-            List<User> users = getAllUsers();
-            
             if (users == null || users.isEmpty()) {
                 System.out.println("No users found.");
                 return;
             }
             
             System.out.println("\n" + "=".repeat(100));
-            System.out.println("ALL USERS");
+            System.out.println(title);
             System.out.println("=".repeat(100));
             System.out.printf("%-5s | %-25s | %-30s | %-10s%n", "ID", "Name", "Email", "Type");
             System.out.println("-".repeat(100));
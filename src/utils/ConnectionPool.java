@@ -0,0 +1,464 @@
+package utils;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+public class ConnectionPool {
+    private static final long HOUSEKEEPING_INTERVAL_MS = 30_000;
+
+    private final String url;
+    private final String username;
+    private final String password;
+    private final int minIdle;
+    private final int maxIdle;
+    private final int maxSize;
+    private final long borrowTimeoutMs;
+    private final long maxLifetimeMs;
+    private final long leakDetectionThresholdMs;
+    private final boolean captureBorrowStacks;
+    private final int validationTimeoutSeconds;
+    private final int statementCacheSize;
+
+    private final Deque<PooledConnection> idleConnections = new ArrayDeque<>();
+    private final Map<Connection, PooledConnection> borrowedConnections = new IdentityHashMap<>();
+    private final Semaphore permits;
+    private final ScheduledExecutorService housekeeper;
+    private volatile boolean closed;
+    private boolean topUpFailureReported;
+    private final AtomicLong statementCacheHits = new AtomicLong();
+    private final AtomicLong statementCacheMisses = new AtomicLong();
+
+    public ConnectionPool(String url, String username, String password, int minIdle, int maxIdle, int maxSize,
+                          long borrowTimeoutMs, long maxLifetimeMs, long leakDetectionThresholdMs,
+                          boolean captureBorrowStacks, int validationTimeoutSeconds, int statementCacheSize) {
+        if (maxSize <= 0 || minIdle < 0 || maxIdle < minIdle || maxIdle > maxSize) {
+            throw new IllegalArgumentException("Invalid pool sizing: minIdle=" + minIdle + ", maxIdle=" + maxIdle + ", maxSize=" + maxSize);
+        }
+
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.minIdle = minIdle;
+        this.maxIdle = maxIdle;
+        this.maxSize = maxSize;
+        this.borrowTimeoutMs = borrowTimeoutMs;
+        this.maxLifetimeMs = maxLifetimeMs;
+        this.leakDetectionThresholdMs = leakDetectionThresholdMs;
+        this.captureBorrowStacks = captureBorrowStacks;
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+        this.statementCacheSize = statementCacheSize;
+        this.permits = new Semaphore(maxSize, true);
+
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "connection-pool-housekeeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.housekeeper.scheduleWithFixedDelay(this::runHousekeeping, 0, HOUSEKEEPING_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+
+    public Connection borrow() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed");
+        }
+
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new SQLException("Timed out after " + borrowTimeoutMs + " ms waiting for a database connection");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        }
+
+        try {
+            PooledConnection pooled = takeValidIdleConnection();
+            if (pooled == null) {
+                pooled = openConnection();
+            }
+
+            pooled.markBorrowed(leakDetectionThresholdMs > 0 && captureBorrowStacks);
+            synchronized (this) {
+                borrowedConnections.put(pooled.getConnection(), pooled);
+            }
+            return pooled.getConnection();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+
+    public void release(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+
+        PooledConnection pooled;
+        synchronized (this) {
+            pooled = borrowedConnections.remove(connection);
+            if (pooled == null) {
+                for (PooledConnection idle : idleConnections) {
+                    if (idle.getConnection() == connection) {
+                        System.err.println("Connection released to the pool more than once; ignoring.");
+                        return;
+                    }
+                }
+            }
+        }
+
+        if (pooled == null) {
+            closeQuietly(connection);
+            return;
+        }
+
+        try {
+            if (closed || pooled.isExpired(maxLifetimeMs) || !resetState(pooled)) {
+                pooled.close();
+                return;
+            }
+
+            boolean returned = false;
+            synchronized (this) {
+                if (idleConnections.size() < maxIdle) {
+                    idleConnections.offerFirst(pooled);
+                    returned = true;
+                }
+            }
+            if (!returned) {
+                pooled.close();
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+
+    public void exemptFromLeakDetection(Connection connection) {
+        synchronized (this) {
+            PooledConnection pooled = borrowedConnections.get(connection);
+            if (pooled != null) {
+                pooled.markLongLived();
+            }
+        }
+    }
+
+
+    public PreparedStatement prepareStatement(Connection connection, String sql) throws SQLException {
+        PooledConnection pooled;
+        synchronized (this) {
+            pooled = borrowedConnections.get(connection);
+        }
+        if (pooled == null || statementCacheSize <= 0) {
+            return connection.prepareStatement(sql);
+        }
+
+        PreparedStatement statement = pooled.getStatementCache().get(sql);
+        if (statement != null) {
+            statementCacheHits.incrementAndGet();
+            return statement;
+        }
+
+        statementCacheMisses.incrementAndGet();
+        statement = connection.prepareStatement(sql);
+        pooled.getStatementCache().put(sql, statement);
+        return statement;
+    }
+
+
+    public void releaseStatement(Statement statement) {
+        if (statement == null) {
+            return;
+        }
+
+        try {
+            PooledConnection pooled;
+            synchronized (this) {
+                pooled = borrowedConnections.get(statement.getConnection());
+            }
+            if (pooled != null && pooled.getStatementCache().contains(statement)) {
+                if (statement instanceof PreparedStatement) {
+                    ((PreparedStatement) statement).clearParameters();
+                }
+                return;
+            }
+        } catch (SQLException e) {
+            System.err.println("Error returning Statement to cache: " + e.getMessage());
+        }
+
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            System.err.println("Error closing Statement: " + e.getMessage());
+        }
+    }
+
+
+    public long getStatementCacheHits() {
+        return statementCacheHits.get();
+    }
+
+
+    public long getStatementCacheMisses() {
+        return statementCacheMisses.get();
+    }
+
+
+    public int getStatementCacheSize() {
+        return statementCacheSize;
+    }
+
+
+    public void close() {
+        closed = true;
+        housekeeper.shutdownNow();
+
+        List<PooledConnection> toClose;
+        synchronized (this) {
+            toClose = new ArrayList<>(idleConnections);
+            idleConnections.clear();
+        }
+        for (PooledConnection pooled : toClose) {
+            pooled.close();
+        }
+    }
+
+
+    public synchronized int getIdleCount() {
+        return idleConnections.size();
+    }
+
+
+    public synchronized int getActiveCount() {
+        return borrowedConnections.size();
+    }
+
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+
+    private PooledConnection takeValidIdleConnection() {
+        while (true) {
+            PooledConnection pooled;
+            synchronized (this) {
+                pooled = idleConnections.pollFirst();
+            }
+            if (pooled == null) {
+                return null;
+            }
+
+            if (pooled.isExpired(maxLifetimeMs) || !isValid(pooled)) {
+                pooled.close();
+                continue;
+            }
+            return pooled;
+        }
+    }
+
+
+    private PooledConnection openConnection() throws SQLException {
+        Connection connection = DriverManager.getConnection(url, username, password);
+        return new PooledConnection(connection, statementCacheSize);
+    }
+
+
+    private boolean isValid(PooledConnection pooled) {
+        try {
+            return pooled.getConnection().isValid(validationTimeoutSeconds);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+
+    private boolean resetState(PooledConnection pooled) {
+        Connection connection = pooled.getConnection();
+        try {
+            if (connection.isClosed()) {
+                return false;
+            }
+            if (!connection.getAutoCommit()) {
+                connection.rollback();
+                connection.setAutoCommit(true);
+            }
+            return true;
+        } catch (SQLException e) {
+            System.err.println("Discarding pooled connection after reset failure: " + e.getMessage());
+            return false;
+        }
+    }
+
+
+    private void runHousekeeping() {
+        try {
+            reportLeaks();
+            evictExpiredIdleConnections();
+            topUpIdleConnections();
+        } catch (RuntimeException e) {
+            System.err.println("Connection pool housekeeping failed: " + e.getMessage());
+        }
+    }
+
+
+    private void reportLeaks() {
+        if (leakDetectionThresholdMs <= 0) {
+            return;
+        }
+
+        List<PooledConnection> suspects = new ArrayList<>();
+        synchronized (this) {
+            for (PooledConnection pooled : borrowedConnections.values()) {
+                if (pooled.isLeakSuspect(leakDetectionThresholdMs)) {
+                    suspects.add(pooled);
+                }
+            }
+        }
+
+        for (PooledConnection pooled : suspects) {
+            System.err.println("Possible connection leak: connection held for " + pooled.getBorrowedMillis() + " ms");
+            if (pooled.getBorrowSite() != null) {
+                pooled.getBorrowSite().printStackTrace();
+            }
+        }
+    }
+
+
+    private void evictExpiredIdleConnections() {
+        List<PooledConnection> expired = new ArrayList<>();
+        synchronized (this) {
+            idleConnections.removeIf(pooled -> {
+                if (pooled.isExpired(maxLifetimeMs)) {
+                    expired.add(pooled);
+                    return true;
+                }
+                return false;
+            });
+        }
+        for (PooledConnection pooled : expired) {
+            pooled.close();
+        }
+    }
+
+
+    private void topUpIdleConnections() {
+        while (!closed) {
+            synchronized (this) {
+                int total = idleConnections.size() + borrowedConnections.size();
+                if (idleConnections.size() >= minIdle || total >= maxSize) {
+                    return;
+                }
+            }
+
+            if (!permits.tryAcquire()) {
+                return;
+            }
+            try {
+                PooledConnection pooled = openConnection();
+                synchronized (this) {
+                    idleConnections.offerLast(pooled);
+                }
+                topUpFailureReported = false;
+            } catch (SQLException e) {
+                if (!topUpFailureReported) {
+                    System.err.println("Unable to open idle database connections: " + e.getMessage());
+                    topUpFailureReported = true;
+                }
+                return;
+            } finally {
+                permits.release();
+            }
+        }
+    }
+
+
+    private void closeQuietly(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            System.err.println("Error closing Connection: " + e.getMessage());
+        }
+    }
+
+
+    private static class PooledConnection {
+        private final Connection connection;
+        private final StatementCache statementCache;
+        private final long createdAt;
+        private long borrowedAt;
+        private Exception borrowSite;
+        private boolean leakReported;
+        private boolean longLived;
+
+        PooledConnection(Connection connection, int statementCacheSize) {
+            this.connection = connection;
+            this.statementCache = new StatementCache(statementCacheSize);
+            this.createdAt = System.currentTimeMillis();
+        }
+
+        Connection getConnection() {
+            return connection;
+        }
+
+        StatementCache getStatementCache() {
+            return statementCache;
+        }
+
+        void markBorrowed(boolean captureBorrowSite) {
+            borrowedAt = System.currentTimeMillis();
+            borrowSite = captureBorrowSite ? new Exception("Connection borrowed here") : null;
+            leakReported = false;
+            longLived = false;
+        }
+
+        void markLongLived() {
+            longLived = true;
+        }
+
+        long getBorrowedMillis() {
+            return System.currentTimeMillis() - borrowedAt;
+        }
+
+        Exception getBorrowSite() {
+            return borrowSite;
+        }
+
+        boolean isLeakSuspect(long thresholdMs) {
+            if (leakReported || longLived || getBorrowedMillis() < thresholdMs) {
+                return false;
+            }
+            leakReported = true;
+            return true;
+        }
+
+        boolean isExpired(long maxLifetimeMs) {
+            return maxLifetimeMs > 0 && System.currentTimeMillis() - createdAt >= maxLifetimeMs;
+        }
+
+        void close() {
+            statementCache.clear();
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                System.err.println("Error closing pooled Connection: " + e.getMessage());
+            }
+        }
+    }
+}
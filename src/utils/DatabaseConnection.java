@@ -1,14 +1,27 @@
 package utils;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.sql.Statement;
 
 public class DatabaseConnection {
     private static DatabaseConnection instance;
     private static final String DB_URL = "jdbc:oracle:thin:@localhost:1521/XEPDB1";
     private static final String DB_USERNAME = "system";
     private static final String DB_PASSWORD = "happy";
+
+    private static final int POOL_MIN_IDLE = 2;
+    private static final int POOL_MAX_IDLE = 5;
+    private static final int POOL_MAX_SIZE = 10;
+    private static final long POOL_BORROW_TIMEOUT_MS = 5_000;
+    private static final long POOL_MAX_LIFETIME_MS = 30 * 60 * 1000;
+    private static final long POOL_LEAK_DETECTION_MS = 60 * 1000;
+    private static final boolean POOL_CAPTURE_BORROW_STACKS = Boolean.getBoolean("library.pool.captureBorrowStacks");
+    private static final int POOL_VALIDATION_TIMEOUT_SECONDS = 2;
+    private static final int STATEMENT_CACHE_SIZE = 50;
+
+    private final ConnectionPool connectionPool;
     
     private DatabaseConnection() {
         try {
@@ -18,6 +31,11 @@ public class DatabaseConnection {
         }catch (Exception e) {
             System.err.println("Unexpected error");
         }
+
+        this.connectionPool = new ConnectionPool(DB_URL, DB_USERNAME, DB_PASSWORD,
+                POOL_MIN_IDLE, POOL_MAX_IDLE, POOL_MAX_SIZE,
+                POOL_BORROW_TIMEOUT_MS, POOL_MAX_LIFETIME_MS, POOL_LEAK_DETECTION_MS, POOL_CAPTURE_BORROW_STACKS,
+                POOL_VALIDATION_TIMEOUT_SECONDS, STATEMENT_CACHE_SIZE);
     }
     
 
@@ -35,8 +53,7 @@ public class DatabaseConnection {
 
     public Connection getConnection() throws SQLException {
         try {
-            Connection connection = DriverManager.getConnection(DB_URL, DB_USERNAME, DB_PASSWORD);
-            return connection;
+            return connectionPool.borrow();
         } catch (SQLException e) {
             System.err.println("Database connection failed: " + e.getMessage());
             throw e;
@@ -46,4 +63,39 @@ public class DatabaseConnection {
             throw e;
         }
     }
+
+
+    public void exemptFromLeakDetection(Connection connection) {
+        connectionPool.exemptFromLeakDetection(connection);
+    }
+
+
+    public PreparedStatement prepareStatement(Connection connection, String query) throws SQLException {
+        return connectionPool.prepareStatement(connection, query);
+    }
+
+
+    public void releaseStatement(Statement statement) {
+        connectionPool.releaseStatement(statement);
+    }
+
+
+    public long getStatementCacheHits() {
+        return connectionPool.getStatementCacheHits();
+    }
+
+
+    public long getStatementCacheMisses() {
+        return connectionPool.getStatementCacheMisses();
+    }
+
+
+    public void releaseConnection(Connection connection) {
+        connectionPool.release(connection);
+    }
+
+
+    public void shutdown() {
+        connectionPool.close();
+    }
 }
\ No newline at end of file
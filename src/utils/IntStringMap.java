@@ -0,0 +1,154 @@
+package utils;
+
+import java.util.Arrays;
+
+
+public class IntStringMap {
+    private static final int EMPTY = 0;
+    private static final int MIN_CAPACITY = 16;
+
+    private int[] keys;
+    private String[] values;
+    private int mask;
+    private int size;
+    private String emptyKeyValue;
+
+    public IntStringMap() {
+        this(MIN_CAPACITY);
+    }
+
+    public IntStringMap(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < expectedSize * 2) {
+            capacity <<= 1;
+        }
+        this.keys = new int[capacity];
+        this.values = new String[capacity];
+        this.mask = capacity - 1;
+    }
+
+
+    public String get(int key) {
+        if (key == EMPTY) {
+            return emptyKeyValue;
+        }
+
+        int slot = slot(key);
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+
+    public String put(int key, String value) {
+        if (value == null) {
+            return remove(key);
+        }
+
+        if (key == EMPTY) {
+            String previous = emptyKeyValue;
+            if (previous == null) {
+                size++;
+            }
+            emptyKeyValue = value;
+            return previous;
+        }
+
+        int slot = slot(key);
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                String previous = values[slot];
+                values[slot] = value;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        keys[slot] = key;
+        values[slot] = value;
+        size++;
+        if (size * 4 > keys.length * 3) {
+            resize(keys.length * 2);
+        }
+        return null;
+    }
+
+
+    public String remove(int key) {
+        if (key == EMPTY) {
+            String previous = emptyKeyValue;
+            if (previous != null) {
+                emptyKeyValue = null;
+                size--;
+            }
+            return previous;
+        }
+
+        int slot = slot(key);
+        while (keys[slot] != key) {
+            if (keys[slot] == EMPTY) {
+                return null;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        String previous = values[slot];
+        int hole = slot;
+        int next = (hole + 1) & mask;
+        while (keys[next] != EMPTY) {
+            int home = slot(keys[next]);
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                keys[hole] = keys[next];
+                values[hole] = values[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[hole] = EMPTY;
+        values[hole] = null;
+        size--;
+        return previous;
+    }
+
+
+    public int size() {
+        return size;
+    }
+
+
+    public void clear() {
+        Arrays.fill(keys, EMPTY);
+        Arrays.fill(values, null);
+        emptyKeyValue = null;
+        size = 0;
+    }
+
+
+    private int slot(int key) {
+        int hash = key * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+
+    private void resize(int capacity) {
+        int[] oldKeys = keys;
+        String[] oldValues = values;
+        keys = new int[capacity];
+        values = new String[capacity];
+        mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = slot(oldKeys[i]);
+                while (keys[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package utils;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+
+public class StatementCache {
+    private final int maxSize;
+    private final Set<Statement> cachedStatements = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final LinkedHashMap<String, PreparedStatement> statements;
+
+    public StatementCache(int maxSize) {
+        this.maxSize = maxSize;
+        this.statements = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                if (size() > StatementCache.this.maxSize) {
+                    cachedStatements.remove(eldest.getValue());
+                    closeQuietly(eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+
+    public synchronized PreparedStatement get(String sql) {
+        PreparedStatement statement = statements.get(sql);
+        if (statement == null) {
+            return null;
+        }
+
+        try {
+            if (statement.isClosed()) {
+                statements.remove(sql);
+                cachedStatements.remove(statement);
+                return null;
+            }
+        } catch (SQLException e) {
+            statements.remove(sql);
+            cachedStatements.remove(statement);
+            return null;
+        }
+        return statement;
+    }
+
+
+    public synchronized void put(String sql, PreparedStatement statement) {
+        if (maxSize <= 0) {
+            return;
+        }
+
+        PreparedStatement previous = statements.put(sql, statement);
+        if (previous != null && previous != statement) {
+            cachedStatements.remove(previous);
+            closeQuietly(previous);
+        }
+        cachedStatements.add(statement);
+    }
+
+
+    public synchronized boolean contains(Statement statement) {
+        return cachedStatements.contains(statement);
+    }
+
+
+    public synchronized int size() {
+        return statements.size();
+    }
+
+
+    public synchronized void clear() {
+        for (PreparedStatement statement : statements.values()) {
+            closeQuietly(statement);
+        }
+        statements.clear();
+        cachedStatements.clear();
+    }
+
+
+    private static void closeQuietly(Statement statement) {
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            System.err.println("Error closing cached Statement: " + e.getMessage());
+        }
+    }
+}